@@ -16,6 +16,12 @@ import lombok.Data;
 public class ListenerInfo
 {
 
+    /**
+     * Compression threshold of listeners which use the proxy wide
+     * network_compression_threshold.
+     */
+    public static final int NETWORK_COMPRESSION_THRESHOLD = Integer.MIN_VALUE;
+
     /**
      * Host to bind to.
      */
@@ -72,6 +78,17 @@ public class ListenerInfo
      * Whether to support HAProxy PROXY protocol.
      */
     private final boolean proxyProtocol;
+    /**
+     * Minimum size of packets which are compressed for players connected to
+     * this listener, -1 to disable compression, or
+     * {@link #NETWORK_COMPRESSION_THRESHOLD}.
+     */
+    private final int compressionThreshold;
+    /**
+     * Zlib compression level used for players connected to this listener,
+     * from 0 to 9, or -1 for the zlib default.
+     */
+    private final int compressionLevel;
 
     @Deprecated
     public ListenerInfo(InetSocketAddress host, String motd, int maxPlayers, int tabListSize, List<String> serverPriority, boolean forceDefault, Map<String, String> forcedHosts, String tabListType, boolean setLocalAddress, boolean pingPassthrough, int queryPort, boolean queryEnabled)
@@ -79,6 +96,12 @@ public class ListenerInfo
         this( host, motd, maxPlayers, tabListSize, serverPriority, forceDefault, forcedHosts, tabListType, setLocalAddress, pingPassthrough, queryPort, queryEnabled, false );
     }
 
+    @Deprecated
+    public ListenerInfo(SocketAddress socketAddress, String motd, int maxPlayers, int tabListSize, List<String> serverPriority, boolean forceDefault, Map<String, String> forcedHosts, String tabListType, boolean setLocalAddress, boolean pingPassthrough, int queryPort, boolean queryEnabled, boolean proxyProtocol)
+    {
+        this( socketAddress, motd, maxPlayers, tabListSize, serverPriority, forceDefault, forcedHosts, tabListType, setLocalAddress, pingPassthrough, queryPort, queryEnabled, proxyProtocol, NETWORK_COMPRESSION_THRESHOLD, -1 );
+    }
+
     /**
      * Gets the highest priority server to join.
      *
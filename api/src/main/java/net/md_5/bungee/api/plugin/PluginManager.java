@@ -397,6 +397,19 @@ public final class PluginManager
         }
     }
 
+    /**
+     * Check whether any listener is registered for exactly the given event
+     * class. If there is none, calling such an event will not change it, so
+     * callers may skip creating it and any copies of data it would need.
+     *
+     * @param eventClass the class of the event
+     * @return if the event has listeners
+     */
+    public boolean hasListeners(Class<? extends Event> eventClass)
+    {
+        return eventBus.hasListeners( eventClass );
+    }
+
     /**
      * Dispatch an event to all subscribed listeners and return the event once
      * it has been handled by these listeners.
@@ -409,6 +422,12 @@ public final class PluginManager
     {
         Preconditions.checkNotNull( event, "event" );
 
+        if ( !eventBus.hasListeners( event.getClass() ) )
+        {
+            event.postCall();
+            return event;
+        }
+
         long start = System.nanoTime();
         eventBus.post( event );
         event.postCall();
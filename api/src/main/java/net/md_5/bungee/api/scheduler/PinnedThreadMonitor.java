@@ -0,0 +1,89 @@
+package net.md_5.bungee.api.scheduler;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Counts virtual thread pinning reported by the flight recorder against the
+ * plugin executor the thread belongs to. The flight recorder API is only
+ * reached through reflection, as it is missing from the Java 8 API.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class PinnedThreadMonitor
+{
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final AtomicBoolean STARTED = new AtomicBoolean();
+
+    static void start()
+    {
+        if ( !STARTED.compareAndSet( false, true ) )
+        {
+            return;
+        }
+
+        try
+        {
+            Class<?> streamClass = Class.forName( "jdk.jfr.consumer.RecordingStream" );
+            Method getThread = Class.forName( "jdk.jfr.consumer.RecordedEvent" ).getMethod( "getThread" );
+            Method getJavaName = Class.forName( "jdk.jfr.consumer.RecordedThread" ).getMethod( "getJavaName" );
+
+            Consumer<Object> handler = (event) ->
+            {
+                try
+                {
+                    Object thread = getThread.invoke( event );
+                    if ( thread != null )
+                    {
+                        pinned( (String) getJavaName.invoke( thread ) );
+                    }
+                } catch ( ReflectiveOperationException ex )
+                {
+                    // Ignore events we cannot read
+                }
+            };
+
+            Object stream = streamClass.getConstructor().newInstance();
+            streamClass.getMethod( "enable", String.class ).invoke( stream, PINNED_EVENT );
+            streamClass.getMethod( "onEvent", String.class, Consumer.class ).invoke( stream, PINNED_EVENT, handler );
+            Method start = streamClass.getMethod( "start" );
+
+            // The stream's own thread would keep the JVM alive
+            Thread thread = new Thread( () ->
+            {
+                try
+                {
+                    start.invoke( stream );
+                } catch ( ReflectiveOperationException ex )
+                {
+                    // Stream closed
+                }
+            }, "BungeeCord Pinned Thread Monitor" );
+            thread.setDaemon( true );
+            thread.start();
+        } catch ( ReflectiveOperationException | LinkageError ex )
+        {
+            // Flight recorder not available, pinning is simply not counted
+        }
+    }
+
+    private static void pinned(String threadName)
+    {
+        if ( threadName == null )
+        {
+            return;
+        }
+
+        for ( PluginExecutorService executor : PluginExecutorService.getExecutors() )
+        {
+            if ( executor.isVirtual() && threadName.startsWith( executor.getThreadPrefix() ) )
+            {
+                executor.pinned();
+                return;
+            }
+        }
+    }
+}
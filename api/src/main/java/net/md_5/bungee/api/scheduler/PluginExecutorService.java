@@ -0,0 +1,206 @@
+package net.md_5.bungee.api.scheduler;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.AccessLevel;
+import lombok.Getter;
+import net.md_5.bungee.api.plugin.Plugin;
+
+/**
+ * The executor behind {@link Plugin#getExecutorService()}, which counts the
+ * tasks it runs for the plugin.
+ * <br>
+ * Tasks normally run on a cached pool of platform threads. If the system
+ * property {@code net.md_5.bungee.virtual_threads} is set to true and the JVM
+ * supports it (Java 21 or newer), every task runs on a new virtual thread
+ * instead, so plugins blocking on databases or web requests do not each
+ * occupy a platform thread.
+ * <br>
+ * Executors are listed by {@link #getExecutors()} until they are shut down,
+ * so that their counters can be reported.
+ */
+public final class PluginExecutorService extends AbstractExecutorService
+{
+
+    private static final boolean VIRTUAL_THREADS = Boolean.getBoolean( "net.md_5.bungee.virtual_threads" );
+    private static final Set<PluginExecutorService> EXECUTORS = ConcurrentHashMap.newKeySet();
+    //
+    private final ExecutorService delegate;
+    /**
+     * Name of the plugin this executor runs tasks for.
+     */
+    @Getter
+    private final String name;
+    @Getter(AccessLevel.PACKAGE)
+    private final String threadPrefix;
+    /**
+     * Whether tasks run on virtual threads.
+     */
+    @Getter
+    private final boolean virtual;
+    private final AtomicInteger activeTasks = new AtomicInteger();
+    private final LongAdder completedTasks = new LongAdder();
+    private final LongAdder queueNanos = new LongAdder();
+    private final LongAdder pinnedEvents = new LongAdder();
+
+    public PluginExecutorService(Plugin plugin, String name)
+    {
+        this.name = name;
+        this.threadPrefix = name + " Pool Thread #";
+
+        ExecutorService virtualExecutor = ( VIRTUAL_THREADS ) ? newVirtualThreadExecutor( threadPrefix ) : null;
+        if ( virtualExecutor != null )
+        {
+            this.delegate = virtualExecutor;
+            this.virtual = true;
+            PinnedThreadMonitor.start();
+        } else
+        {
+            this.delegate = Executors.newCachedThreadPool( new ThreadFactoryBuilder().setNameFormat( threadPrefix + "%1$d" )
+                    .setThreadFactory( new GroupedThreadFactory( plugin, name ) ).build() );
+            this.virtual = false;
+        }
+        EXECUTORS.add( this );
+    }
+
+    /**
+     * Get all executors which have not been shut down.
+     *
+     * @return an unmodifiable view of the executors
+     */
+    public static Collection<PluginExecutorService> getExecutors()
+    {
+        return Collections.unmodifiableSet( EXECUTORS );
+    }
+
+    private static ExecutorService newVirtualThreadExecutor(String threadPrefix)
+    {
+        try
+        {
+            Class<?> builderClass = Class.forName( "java.lang.Thread$Builder" );
+            Object builder = Thread.class.getMethod( "ofVirtual" ).invoke( null );
+            builder = builderClass.getMethod( "name", String.class, long.class ).invoke( builder, threadPrefix, 0L );
+            ThreadFactory factory = (ThreadFactory) builderClass.getMethod( "factory" ).invoke( builder );
+
+            return (ExecutorService) Executors.class.getMethod( "newThreadPerTaskExecutor", ThreadFactory.class ).invoke( null, factory );
+        } catch ( ReflectiveOperationException ex )
+        {
+            // Older than Java 21
+            return null;
+        }
+    }
+
+    /**
+     * Get the number of tasks which are currently running.
+     *
+     * @return the number of running tasks
+     */
+    public int getActiveTasks()
+    {
+        return activeTasks.get();
+    }
+
+    /**
+     * Get the number of tasks which have finished running.
+     *
+     * @return the number of finished tasks
+     */
+    public long getCompletedTasks()
+    {
+        return completedTasks.sum();
+    }
+
+    /**
+     * Get the average time tasks waited between being submitted and starting
+     * to run.
+     *
+     * @return the average wait in milliseconds, or 0 if no task has run yet
+     */
+    public double getAverageQueueMillis()
+    {
+        long started = completedTasks.sum() + activeTasks.get();
+        return ( started == 0 ) ? 0 : queueNanos.sum() / 1e6 / started;
+    }
+
+    /**
+     * Get the number of times a virtual thread of this executor was pinned to
+     * its carrier thread for longer than 20ms, for example by blocking inside
+     * a synchronized block. Only counted when running on virtual threads.
+     *
+     * @return the number of pinned events
+     */
+    public long getPinnedEvents()
+    {
+        return pinnedEvents.sum();
+    }
+
+    void pinned()
+    {
+        pinnedEvents.increment();
+    }
+
+    @Override
+    public void execute(Runnable command)
+    {
+        Preconditions.checkNotNull( command, "command" );
+
+        long queued = System.nanoTime();
+        delegate.execute( () ->
+        {
+            queueNanos.add( System.nanoTime() - queued );
+            activeTasks.incrementAndGet();
+            try
+            {
+                command.run();
+            } finally
+            {
+                activeTasks.decrementAndGet();
+                completedTasks.increment();
+            }
+        } );
+    }
+
+    @Override
+    public void shutdown()
+    {
+        EXECUTORS.remove( this );
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow()
+    {
+        EXECUTORS.remove( this );
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown()
+    {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated()
+    {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException
+    {
+        return delegate.awaitTermination( timeout, unit );
+    }
+}
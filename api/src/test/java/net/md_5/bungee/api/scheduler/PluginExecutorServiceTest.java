@@ -0,0 +1,55 @@
+package net.md_5.bungee.api.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import net.md_5.bungee.api.plugin.Plugin;
+import org.junit.jupiter.api.Test;
+
+public class PluginExecutorServiceTest
+{
+
+    private static final class TestPlugin extends Plugin
+    {
+
+        private TestPlugin()
+        {
+            super( null, null );
+        }
+    }
+
+    @Test
+    public void testCounters() throws InterruptedException
+    {
+        PluginExecutorService executor = new PluginExecutorService( new TestPlugin(), "Test" );
+        CountDownLatch started = new CountDownLatch( 1 );
+        CountDownLatch release = new CountDownLatch( 1 );
+        String[] threadName = new String[ 1 ];
+
+        executor.execute( () ->
+        {
+            threadName[0] = Thread.currentThread().getName();
+            started.countDown();
+            try
+            {
+                release.await();
+            } catch ( InterruptedException ex )
+            {
+                Thread.currentThread().interrupt();
+            }
+        } );
+
+        assertTrue( started.await( 5, TimeUnit.SECONDS ) );
+        assertEquals( 1, executor.getActiveTasks() );
+        assertTrue( PluginExecutorService.getExecutors().contains( executor ) );
+        assertTrue( threadName[0].startsWith( "Test Pool Thread #" ) );
+
+        release.countDown();
+        executor.shutdown();
+        assertFalse( PluginExecutorService.getExecutors().contains( executor ) );
+        assertTrue( executor.awaitTermination( 5, TimeUnit.SECONDS ) );
+        assertEquals( 0, executor.getActiveTasks() );
+        assertEquals( 1, executor.getCompletedTasks() );
+        assertTrue( executor.getAverageQueueMillis() >= 0 );
+    }
+}
@@ -0,0 +1,35 @@
+package net.md_5.bungee.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.openjdk.jmh.Main;
+
+/**
+ * Entry point of the benchmark jar. Behaves exactly like the JMH launcher,
+ * except that results are written as JSON to {@code jmh-result.json} unless
+ * another result format or file is requested, so that runs from different
+ * releases can be compared directly.
+ * <p>
+ * Usage: {@code java -jar benchmarks/target/benchmarks.jar [JMH options]}
+ */
+public class Benchmarks
+{
+
+    public static void main(String[] args) throws Exception
+    {
+        List<String> arguments = new ArrayList<>( Arrays.asList( args ) );
+        if ( !arguments.contains( "-rf" ) )
+        {
+            arguments.add( "-rf" );
+            arguments.add( "json" );
+        }
+        if ( !arguments.contains( "-rff" ) )
+        {
+            arguments.add( "-rff" );
+            arguments.add( "jmh-result.json" );
+        }
+
+        Main.main( arguments.toArray( new String[ 0 ] ) );
+    }
+}
@@ -0,0 +1,63 @@
+package net.md_5.bungee.chat;
+
+import java.util.concurrent.TimeUnit;
+import net.md_5.bungee.api.ChatColor;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.ClickEvent;
+import net.md_5.bungee.api.chat.ComponentBuilder;
+import net.md_5.bungee.api.chat.HoverEvent;
+import net.md_5.bungee.api.chat.TextComponent;
+import net.md_5.bungee.api.chat.TranslatableComponent;
+import net.md_5.bungee.api.chat.hover.content.Text;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ComponentSerializerBenchmark
+{
+
+    private BaseComponent component;
+    private String json;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        TranslatableComponent join = new TranslatableComponent( "multiplayer.player.joined", new TextComponent( "md_5" ) );
+        join.setColor( ChatColor.YELLOW );
+
+        component = new TextComponent( new ComponentBuilder( "[Lobby] " ).color( ChatColor.GRAY )
+                .append( "md_5" ).color( ChatColor.GOLD ).bold( true )
+                .event( new HoverEvent( HoverEvent.Action.SHOW_TEXT, new Text( "Click to message" ) ) )
+                .event( new ClickEvent( ClickEvent.Action.SUGGEST_COMMAND, "/msg md_5 " ) )
+                .append( ": " ).reset().color( ChatColor.DARK_GRAY )
+                .append( "Welcome to the server, have fun!" ).color( ChatColor.WHITE )
+                .append( " " ).append( join ).create() );
+        json = ComponentSerializer.toString( component );
+    }
+
+    @Benchmark
+    public String serialize()
+    {
+        return ComponentSerializer.toString( component );
+    }
+
+    @Benchmark
+    public BaseComponent deserialize()
+    {
+        return ComponentSerializer.deserialize( json );
+    }
+}
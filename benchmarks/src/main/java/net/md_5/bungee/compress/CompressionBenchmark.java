@@ -0,0 +1,114 @@
+package net.md_5.bungee.compress;
+
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import net.md_5.bungee.jni.zlib.BungeeZlib;
+import net.md_5.bungee.jni.zlib.JavaZlib;
+import net.md_5.bungee.protocol.DefinedPacket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compresses and decompresses packets the way {@link PacketCompressor} and
+ * {@link PacketDecompressor} do, with both the Java and the native zlib.
+ * The native variants require the native library to load on this platform.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompressionBenchmark
+{
+
+    @Param({ "java", "native" })
+    private String zlib;
+    @Param({ "512", "8192", "65536" })
+    private int size;
+    //
+    private BungeeZlib deflater;
+    private BungeeZlib inflater;
+    private ByteBuf packet;
+    private ByteBuf compressed;
+    private ByteBuf out;
+
+    @Setup(Level.Trial)
+    public void setup() throws DataFormatException
+    {
+        if ( zlib.equals( "native" ) )
+        {
+            Preconditions.checkState( CompressFactory.zlib.load(), "Native zlib is not available on this platform" );
+            deflater = CompressFactory.zlib.newInstance();
+            inflater = CompressFactory.zlib.newInstance();
+        } else
+        {
+            deflater = new JavaZlib();
+            inflater = new JavaZlib();
+        }
+        deflater.init( true, Deflater.DEFAULT_COMPRESSION );
+        inflater.init( false, 0 );
+
+        // Chunk-like data: long runs of a small palette with some noise
+        Random random = new Random( 0 );
+        packet = PooledByteBufAllocator.DEFAULT.directBuffer( size );
+        while ( packet.writerIndex() < size )
+        {
+            int run = Math.min( 1 + random.nextInt( 32 ), size - packet.writerIndex() );
+            int value = random.nextInt( 16 );
+            for ( int i = 0; i < run; i++ )
+            {
+                packet.writeByte( value );
+            }
+        }
+
+        compressed = PooledByteBufAllocator.DEFAULT.directBuffer();
+        deflater.process( packet.duplicate(), compressed );
+        out = PooledByteBufAllocator.DEFAULT.directBuffer( size * 2 );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        deflater.free();
+        inflater.free();
+        packet.release();
+        compressed.release();
+        out.release();
+    }
+
+    @Benchmark
+    public int compress() throws DataFormatException
+    {
+        out.clear();
+        DefinedPacket.writeVarInt( size, out );
+        deflater.process( packet.duplicate(), out );
+
+        return out.writerIndex();
+    }
+
+    @Benchmark
+    public int decompress() throws DataFormatException
+    {
+        out.clear();
+        inflater.process( compressed.duplicate(), out );
+
+        return out.writerIndex();
+    }
+}
@@ -0,0 +1,134 @@
+package net.md_5.bungee.entitymap;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.md_5.bungee.protocol.DefinedPacket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Runs {@link EntityMap#rewriteClientbound(ByteBuf, int, int, int)} and
+ * {@link EntityMap#rewriteServerbound(ByteBuf, int, int, int)} of every entity
+ * map over a synthetic corpus, one packet per packet id which starts with the
+ * entity id of the player. Packets the map cannot parse from that layout are
+ * left out of the corpus. A new id of a different VarInt width makes rewrites
+ * move the rest of the packet.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityMapBenchmark
+{
+
+    private static final int OLD_ID = 1000;
+    //
+    @Param({ "2000", "100000" })
+    private int newId;
+    @Param({ "47", "107", "110", "210", "315", "335", "338", "393", "477", "573", "735", "751", "755", "757", "759", "760", "762", "764", "765", "766" })
+    private int protocolVersion;
+    //
+    private EntityMap entityMap;
+    private final List<ByteBuf> corpus = new ArrayList<>();
+    private final List<ByteBuf> serverboundCorpus = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        entityMap = EntityMap.getEntityMap( protocolVersion );
+
+        for ( int packetId = 0; packetId < 0x80; packetId++ )
+        {
+            ByteBuf packet = createPacket( packetId );
+            try
+            {
+                entityMap.rewriteClientbound( packet.copy(), OLD_ID, newId, protocolVersion );
+                corpus.add( packet );
+            } catch ( RuntimeException ex )
+            {
+                packet.release();
+            }
+
+            packet = createPacket( packetId );
+            try
+            {
+                entityMap.rewriteServerbound( packet.copy(), OLD_ID, newId, protocolVersion );
+                serverboundCorpus.add( packet );
+            } catch ( RuntimeException ex )
+            {
+                packet.release();
+            }
+        }
+    }
+
+    private static ByteBuf createPacket(int packetId)
+    {
+        ByteBuf packet = Unpooled.buffer();
+        DefinedPacket.writeVarInt( packetId, packet );
+        DefinedPacket.writeVarInt( OLD_ID, packet );
+        packet.writeInt( OLD_ID );
+        packet.writeZero( 32 );
+
+        return packet;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        for ( ByteBuf packet : corpus )
+        {
+            packet.release();
+        }
+        corpus.clear();
+        for ( ByteBuf packet : serverboundCorpus )
+        {
+            packet.release();
+        }
+        serverboundCorpus.clear();
+    }
+
+    @Benchmark
+    public int rewriteClientbound()
+    {
+        int bytes = 0;
+        // Rewrites swap the two ids, so the corpus is stable across invocations
+        for ( int i = 0; i < corpus.size(); i++ )
+        {
+            ByteBuf packet = corpus.get( i );
+            entityMap.rewriteClientbound( packet, OLD_ID, newId, protocolVersion );
+            bytes += packet.readableBytes();
+        }
+
+        return bytes;
+    }
+
+    @Benchmark
+    public int rewriteServerbound()
+    {
+        int bytes = 0;
+        for ( int i = 0; i < serverboundCorpus.size(); i++ )
+        {
+            ByteBuf packet = serverboundCorpus.get( i );
+            entityMap.rewriteServerbound( packet, OLD_ID, newId, protocolVersion );
+            bytes += packet.readableBytes();
+        }
+
+        return bytes;
+    }
+}
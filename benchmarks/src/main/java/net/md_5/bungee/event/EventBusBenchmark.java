@@ -0,0 +1,65 @@
+package net.md_5.bungee.event;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventBusBenchmark
+{
+
+    @Param({ "0", "1", "10" })
+    private int listeners;
+    //
+    private final EventBus bus = new EventBus();
+    private Blackhole blackhole;
+
+    @Setup(Level.Trial)
+    public void setup(Blackhole blackhole)
+    {
+        this.blackhole = blackhole;
+        for ( int i = 0; i < listeners; i++ )
+        {
+            bus.register( new Listener() );
+        }
+    }
+
+    @Benchmark
+    public BenchmarkEvent post()
+    {
+        BenchmarkEvent event = new BenchmarkEvent();
+        bus.post( event );
+
+        return event;
+    }
+
+    public static class BenchmarkEvent
+    {
+    }
+
+    public class Listener
+    {
+
+        @EventHandler
+        public void onEvent(BenchmarkEvent event)
+        {
+            blackhole.consume( event );
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package net.md_5.bungee.netty.cipher;
+
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.security.GeneralSecurityException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.spec.SecretKeySpec;
+import net.md_5.bungee.EncryptionUtil;
+import net.md_5.bungee.jni.cipher.BungeeCipher;
+import net.md_5.bungee.jni.cipher.JavaCipher;
+import net.md_5.bungee.jni.cipher.NativeCipher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Pushes frames through {@link CipherEncoder} and {@link CipherDecoder} with
+ * both the Java and the native AES/CFB8 implementation. The native variants
+ * require the native library to load on this platform.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CipherBenchmark
+{
+
+    @Param({ "java", "native" })
+    private String cipher;
+    @Param({ "32", "1024", "32768" })
+    private int size;
+    //
+    private EmbeddedChannel encrypt;
+    private EmbeddedChannel decrypt;
+    private ByteBuf frame;
+
+    @Setup(Level.Trial)
+    public void setup() throws GeneralSecurityException
+    {
+        byte[] key = new byte[ 16 ];
+        new Random( 0 ).nextBytes( key );
+        SecretKeySpec secret = new SecretKeySpec( key, "AES" );
+
+        BungeeCipher encryptCipher = newCipher();
+        encryptCipher.init( true, secret );
+        BungeeCipher decryptCipher = newCipher();
+        decryptCipher.init( false, secret );
+
+        encrypt = new EmbeddedChannel( new CipherEncoder( encryptCipher ) );
+        encrypt.config().setAllocator( PooledByteBufAllocator.DEFAULT );
+        decrypt = new EmbeddedChannel( new CipherDecoder( decryptCipher ) );
+        decrypt.config().setAllocator( PooledByteBufAllocator.DEFAULT );
+
+        byte[] data = new byte[ size ];
+        new Random( 1 ).nextBytes( data );
+        frame = PooledByteBufAllocator.DEFAULT.directBuffer( size );
+        frame.writeBytes( data );
+    }
+
+    private BungeeCipher newCipher()
+    {
+        if ( cipher.equals( "native" ) )
+        {
+            Preconditions.checkState( EncryptionUtil.nativeFactory.load(), "Native cipher is not available on this platform" );
+            return new NativeCipher();
+        }
+
+        return new JavaCipher();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        encrypt.finishAndReleaseAll();
+        decrypt.finishAndReleaseAll();
+        frame.release();
+    }
+
+    @Benchmark
+    public int encrypt()
+    {
+        encrypt.writeOutbound( frame.retainedDuplicate() );
+        ByteBuf encrypted = encrypt.readOutbound();
+        int length = encrypted.readableBytes();
+        encrypted.release();
+
+        return length;
+    }
+
+    @Benchmark
+    public int decrypt()
+    {
+        decrypt.writeInbound( frame.retainedDuplicate() );
+        ByteBuf decrypted = decrypt.readInbound();
+        int length = decrypted.readableBytes();
+        decrypted.release();
+
+        return length;
+    }
+}
@@ -0,0 +1,117 @@
+package net.md_5.bungee.protocol;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DefinedPacketBenchmark
+{
+
+    @State(Scope.Thread)
+    public static class VarIntState
+    {
+
+        @Param({ "1", "300", "2097151" })
+        private int value;
+        //
+        private ByteBuf encoded;
+        private ByteBuf scratch;
+
+        @Setup(Level.Trial)
+        public void setup()
+        {
+            encoded = PooledByteBufAllocator.DEFAULT.directBuffer();
+            DefinedPacket.writeVarInt( value, encoded );
+            scratch = PooledByteBufAllocator.DEFAULT.directBuffer( 8 );
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown()
+        {
+            encoded.release();
+            scratch.release();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class StringState
+    {
+
+        @Param({ "16", "256" })
+        private int length;
+        //
+        private String string;
+        private ByteBuf encoded;
+        private ByteBuf scratch;
+
+        @Setup(Level.Trial)
+        public void setup()
+        {
+            StringBuilder builder = new StringBuilder( length );
+            for ( int i = 0; i < length; i++ )
+            {
+                builder.append( (char) ( 'a' + i % 26 ) );
+            }
+            string = builder.toString();
+
+            encoded = PooledByteBufAllocator.DEFAULT.directBuffer();
+            DefinedPacket.writeString( string, encoded );
+            scratch = PooledByteBufAllocator.DEFAULT.directBuffer( length * 3 + 3 );
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown()
+        {
+            encoded.release();
+            scratch.release();
+        }
+    }
+
+    @Benchmark
+    public int readVarInt(VarIntState state)
+    {
+        state.encoded.readerIndex( 0 );
+        return DefinedPacket.readVarInt( state.encoded );
+    }
+
+    @Benchmark
+    public ByteBuf writeVarInt(VarIntState state)
+    {
+        state.scratch.clear();
+        DefinedPacket.writeVarInt( state.value, state.scratch );
+        return state.scratch;
+    }
+
+    @Benchmark
+    public String readString(StringState state)
+    {
+        state.encoded.readerIndex( 0 );
+        return DefinedPacket.readString( state.encoded );
+    }
+
+    @Benchmark
+    public ByteBuf writeString(StringState state)
+    {
+        state.scratch.clear();
+        DefinedPacket.writeString( state.string, state.scratch );
+        return state.scratch;
+    }
+}
@@ -0,0 +1,104 @@
+package net.md_5.bungee.protocol;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.concurrent.TimeUnit;
+import net.md_5.bungee.api.ChatColor;
+import net.md_5.bungee.api.chat.ComponentBuilder;
+import net.md_5.bungee.api.chat.TextComponent;
+import net.md_5.bungee.protocol.packet.KeepAlive;
+import net.md_5.bungee.protocol.packet.PluginMessage;
+import net.md_5.bungee.protocol.packet.SystemChat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encodes a clientbound packet with {@link MinecraftEncoder} and decodes it
+ * again with {@link MinecraftDecoder}, as happens for every packet the proxy
+ * generates or inspects.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MinecraftCodecBenchmark
+{
+
+    @Param({ "keepalive", "pluginmessage", "systemchat" })
+    private String packet;
+    @Param({ "764", "767" })
+    private int protocolVersion;
+    //
+    private DefinedPacket message;
+    private EmbeddedChannel encoder;
+    private EmbeddedChannel decoder;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        switch ( packet )
+        {
+            case "keepalive":
+                message = new KeepAlive( 0x1234567890L );
+                break;
+            case "pluginmessage":
+                message = new PluginMessage( "minecraft:brand", "BungeeCord (git:unknown) <- Paper".getBytes(), false );
+                break;
+            default:
+                TextComponent component = new TextComponent( new ComponentBuilder( "[Server] " ).color( ChatColor.GOLD ).bold( true )
+                        .append( "The server will restart in " ).reset().color( ChatColor.YELLOW )
+                        .append( "5 minutes" ).color( ChatColor.RED ).underlined( true ).create() );
+                message = new SystemChat( component, 0 );
+                break;
+        }
+
+        encoder = new EmbeddedChannel( new MinecraftEncoder( Protocol.GAME, true, protocolVersion ) );
+        encoder.config().setAllocator( PooledByteBufAllocator.DEFAULT );
+        decoder = new EmbeddedChannel( new MinecraftDecoder( Protocol.GAME, false, protocolVersion ) );
+        decoder.config().setAllocator( PooledByteBufAllocator.DEFAULT );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        encoder.finishAndReleaseAll();
+        decoder.finishAndReleaseAll();
+    }
+
+    @Benchmark
+    public Object encode()
+    {
+        encoder.writeOutbound( message );
+        ByteBuf encoded = encoder.readOutbound();
+        int size = encoded.readableBytes();
+        encoded.release();
+
+        return size;
+    }
+
+    @Benchmark
+    public Object roundTrip()
+    {
+        encoder.writeOutbound( message );
+        decoder.writeInbound( encoder.<ByteBuf>readOutbound() );
+
+        PacketWrapper wrapper = decoder.readInbound();
+        wrapper.trySingleRelease();
+
+        return wrapper.packet;
+    }
+}
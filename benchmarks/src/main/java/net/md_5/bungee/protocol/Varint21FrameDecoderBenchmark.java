@@ -0,0 +1,118 @@
+package net.md_5.bungee.protocol;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Frames a buffer holding a realistic mix of packets with both the current
+ * and the legacy frame decoder. The buffer is fed in fixed size reads so that
+ * frames regularly straddle read boundaries, as they do on a real socket.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Varint21FrameDecoderBenchmark
+{
+
+    private static final int FRAMES = 1024;
+    private static final int READ_SIZE = 2048;
+    //
+    @Param({ "movement", "mixed", "chunks" })
+    private String mix;
+    @Param({ "current", "legacy" })
+    private String decoder;
+    //
+    private ByteBuf stream;
+    private EmbeddedChannel channel;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        Random random = new Random( 0 );
+        stream = PooledByteBufAllocator.DEFAULT.directBuffer();
+
+        for ( int i = 0; i < FRAMES; i++ )
+        {
+            int length = nextLength( random );
+            DefinedPacket.writeVarInt( length, stream );
+            for ( int j = 0; j < length; j++ )
+            {
+                stream.writeByte( random.nextInt() );
+            }
+        }
+
+        channel = new EmbeddedChannel();
+        channel.config().setAllocator( PooledByteBufAllocator.DEFAULT );
+        channel.pipeline().addLast( ( decoder.equals( "legacy" ) ) ? new LegacyVarint21FrameDecoder() : new Varint21FrameDecoder() );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        channel.finishAndReleaseAll();
+        stream.release();
+    }
+
+    private int nextLength(Random random)
+    {
+        switch ( mix )
+        {
+            case "movement":
+                // Position, rotation and keep alive sized packets
+                return 8 + random.nextInt( 40 );
+            case "chunks":
+                // Chunk data and light updates, occasionally interleaved with small entity packets
+                return ( random.nextInt( 4 ) == 0 ) ? 8 + random.nextInt( 40 ) : 4096 + random.nextInt( 60000 );
+            default:
+                // Mostly small packets with the odd medium and large one
+                int roll = random.nextInt( 100 );
+                if ( roll < 80 )
+                {
+                    return 8 + random.nextInt( 40 );
+                } else if ( roll < 97 )
+                {
+                    return 64 + random.nextInt( 1024 );
+                }
+                return 4096 + random.nextInt( 60000 );
+        }
+    }
+
+    @Benchmark
+    public int decode()
+    {
+        int frames = 0;
+        for ( int offset = 0; offset < stream.writerIndex(); offset += READ_SIZE )
+        {
+            int length = Math.min( READ_SIZE, stream.writerIndex() - offset );
+            channel.writeInbound( stream.retainedSlice( offset, length ) );
+
+            ByteBuf frame;
+            while ( ( frame = channel.readInbound() ) != null )
+            {
+                frames++;
+                frame.release();
+            }
+        }
+
+        return frames;
+    }
+}
@@ -19,6 +19,12 @@ import java.util.logging.Logger;
 public class EventBus
 {
 
+    /**
+     * Only one in this many calls of each handler is timed, as reading the
+     * clock twice costs more than most listeners do. Must be a power of two.
+     */
+    private static final int TIMING_INTERVAL = 64;
+    //
     private final Map<Class<?>, Map<Byte, Map<Object, Method[]>>> byListenerAndPriority = new HashMap<>();
     private final Map<Class<?>, EventHandlerMethod[]> byEventBaked = new ConcurrentHashMap<>();
     private final Lock lock = new ReentrantLock();
@@ -42,7 +48,9 @@ public class EventBus
         {
             for ( EventHandlerMethod method : handlers )
             {
-                long start = System.nanoTime();
+                // Racy, but a missed or repeated sample does no harm
+                boolean timed = ( method.dispatches++ & ( TIMING_INTERVAL - 1 ) ) == 0;
+                long start = ( timed ) ? System.nanoTime() : 0;
 
                 try
                 {
@@ -58,18 +66,33 @@ public class EventBus
                     logger.log( Level.WARNING, MessageFormat.format( "Error dispatching event {0} to listener {1}", event, method.getListener() ), ex.getCause() );
                 }
 
-                long elapsed = System.nanoTime() - start;
-                if ( elapsed > 50000000 )
+                if ( timed )
                 {
-                    logger.log( Level.WARNING, "Plugin listener {0} took {1}ms to process event {2}!", new Object[]
+                    long elapsed = System.nanoTime() - start;
+                    if ( elapsed > 50000000 )
                     {
-                        method.getListener().getClass().getName(), elapsed / 1000000, event
-                    } );
+                        logger.log( Level.WARNING, "Plugin listener {0} took {1}ms to process event {2}!", new Object[]
+                        {
+                            method.getListener().getClass().getName(), elapsed / 1000000, event
+                        } );
+                    }
                 }
             }
         }
     }
 
+    /**
+     * Check whether posting an event of the given class would reach any
+     * handler. Handlers are looked up by the exact class of the event only.
+     *
+     * @param eventClass the class of the event
+     * @return if there are handlers for the class
+     */
+    public boolean hasListeners(Class<?> eventClass)
+    {
+        return byEventBaked.containsKey( eventClass );
+    }
+
     private Map<Class<?>, Map<Byte, Set<Method>>> findHandlers(Object listener)
     {
         Map<Class<?>, Map<Byte, Set<Method>>> handler = new HashMap<>();
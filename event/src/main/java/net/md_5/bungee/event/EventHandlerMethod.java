@@ -1,21 +1,74 @@
 package net.md_5.bungee.event;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import lombok.AllArgsConstructor;
+import java.lang.reflect.Modifier;
 import lombok.Getter;
 
-@AllArgsConstructor
 public class EventHandlerMethod
 {
 
+    private static final MethodType INVOKER_TYPE = MethodType.methodType( void.class, Object.class );
+    //
     @Getter
     private final Object listener;
     @Getter
     private final Method method;
+    private final MethodHandle invoker;
+    int dispatches;
+
+    public EventHandlerMethod(Object listener, Method method)
+    {
+        this.listener = listener;
+        this.method = method;
+        this.invoker = createInvoker( listener, method );
+    }
+
+    /**
+     * Resolve the method once into a handle bound to its listener, so that
+     * dispatching skips the access checks and argument array of
+     * {@link Method#invoke(java.lang.Object, java.lang.Object...)}.
+     *
+     * @param listener the listener the method belongs to
+     * @param method the handler method
+     * @return the invoker, or null if the method is not accessible
+     */
+    private static MethodHandle createInvoker(Object listener, Method method)
+    {
+        MethodHandle handle;
+        try
+        {
+            handle = MethodHandles.lookup().unreflect( method );
+        } catch ( IllegalAccessException ex )
+        {
+            // Let reflection report the failure on dispatch as it always has
+            return null;
+        }
+
+        if ( !Modifier.isStatic( method.getModifiers() ) )
+        {
+            handle = handle.bindTo( listener );
+        }
+        return handle.asType( INVOKER_TYPE );
+    }
 
     public void invoke(Object event) throws IllegalAccessException, IllegalArgumentException, InvocationTargetException
     {
-        method.invoke( listener, event );
+        if ( invoker == null )
+        {
+            method.invoke( listener, event );
+            return;
+        }
+
+        try
+        {
+            invoker.invokeExact( event );
+        } catch ( Throwable ex )
+        {
+            throw new InvocationTargetException( ex );
+        }
     }
 }
@@ -18,6 +18,27 @@ public class EventBusTest
         assertEquals( 0, latch.getCount() );
     }
 
+    @Test
+    public void testStaticAndReturningHandlers()
+    {
+        bus.register( this );
+        ThirdEvent event = new ThirdEvent();
+        bus.post( event );
+        assertEquals( 2, event.calls );
+    }
+
+    @EventHandler
+    public static void staticListener(ThirdEvent event)
+    {
+        event.calls++;
+    }
+
+    @EventHandler
+    public int returningListener(ThirdEvent event)
+    {
+        return ++event.calls;
+    }
+
     @EventHandler
     public void firstListener(FirstEvent event)
     {
@@ -39,4 +60,10 @@ public class EventBusTest
     public static class SecondEvent
     {
     }
+
+    public static class ThirdEvent
+    {
+
+        private int calls;
+    }
 }
@@ -1,6 +1,6 @@
 package net.md_5.bungee.event;
 
-import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 
 public class UnregisteringListenerTest
@@ -16,6 +16,16 @@ public class UnregisteringListenerTest
         bus.post( new TestEvent() );
     }
 
+    @Test
+    public void testHasListeners()
+    {
+        assertFalse( bus.hasListeners( TestEvent.class ) );
+        bus.register( this );
+        assertTrue( bus.hasListeners( TestEvent.class ) );
+        bus.unregister( this );
+        assertFalse( bus.hasListeners( TestEvent.class ) );
+    }
+
     @EventHandler
     public void onEvent(TestEvent evt)
     {
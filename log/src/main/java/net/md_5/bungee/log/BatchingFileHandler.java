@@ -0,0 +1,42 @@
+package net.md_5.bungee.log;
+
+import java.io.IOException;
+import java.util.logging.FileHandler;
+import java.util.logging.LogRecord;
+
+/**
+ * A {@link FileHandler} which does not flush after every record, leaving it to
+ * the {@link LogDispatcher} to flush once per batch.
+ */
+class BatchingFileHandler extends FileHandler
+{
+
+    private boolean publishing;
+
+    BatchingFileHandler(String pattern, int limit, int count, boolean append) throws IOException
+    {
+        super( pattern, limit, count, append );
+    }
+
+    @Override
+    public synchronized void publish(LogRecord record)
+    {
+        publishing = true;
+        try
+        {
+            super.publish( record );
+        } finally
+        {
+            publishing = false;
+        }
+    }
+
+    @Override
+    public synchronized void flush()
+    {
+        if ( !publishing )
+        {
+            super.flush();
+        }
+    }
+}
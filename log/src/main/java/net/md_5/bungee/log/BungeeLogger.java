@@ -3,6 +3,7 @@ package net.md_5.bungee.log;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.IOException;
 import java.util.logging.FileHandler;
+import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
 import java.util.logging.Logger;
@@ -28,7 +29,7 @@ public class BungeeLogger extends Logger
 
         try
         {
-            FileHandler fileHandler = new FileHandler( filePattern, 1 << 24, 8, true );
+            FileHandler fileHandler = new BatchingFileHandler( filePattern, 1 << 24, 8, true );
             fileHandler.setLevel( Level.parse( System.getProperty( "net.md_5.bungee.file-log-level", "INFO" ) ) );
             fileHandler.setFormatter( new ConciseFormatter( false ) );
             addHandler( fileHandler );
@@ -56,4 +57,12 @@ public class BungeeLogger extends Logger
     {
         super.log( record );
     }
+
+    void doFlush()
+    {
+        for ( Handler handler : getHandlers() )
+        {
+            handler.flush();
+        }
+    }
 }
@@ -14,16 +14,25 @@ import net.md_5.bungee.api.ChatColor;
 public class ConciseFormatter extends Formatter
 {
 
-    private final DateFormat date = new SimpleDateFormat( System.getProperty( "net.md_5.bungee.log-date-format", "HH:mm:ss" ) );
+    private static final int MAX_RETAINED_CAPACITY = 1 << 13;
+    //
+    private final String datePattern = System.getProperty( "net.md_5.bungee.log-date-format", "HH:mm:ss" );
+    private final DateFormat date = new SimpleDateFormat( datePattern );
+    // Most patterns do not show milliseconds, so the date only changes once a second
+    private final long dateResolution = ( datePattern.indexOf( 'S' ) >= 0 ) ? 1 : 1000;
     private final boolean coloured;
+    //
+    private final StringBuilder formatted = new StringBuilder();
+    private long lastDateKey = Long.MIN_VALUE;
+    private String lastDate;
 
     @Override
     @SuppressWarnings("ThrowableResultIgnored")
-    public String format(LogRecord record)
+    public synchronized String format(LogRecord record)
     {
-        StringBuilder formatted = new StringBuilder();
+        formatted.setLength( 0 );
 
-        formatted.append( date.format( record.getMillis() ) );
+        formatted.append( formatDate( record.getMillis() ) );
         formatted.append( " [" );
         appendLevel( formatted, record.getLevel() );
         formatted.append( "] " );
@@ -37,7 +46,25 @@ public class ConciseFormatter extends Formatter
             formatted.append( writer );
         }
 
-        return formatted.toString();
+        String result = formatted.toString();
+        if ( formatted.capacity() > MAX_RETAINED_CAPACITY )
+        {
+            // Don't hold on to the space needed by a huge stack trace
+            formatted.setLength( 0 );
+            formatted.trimToSize();
+        }
+        return result;
+    }
+
+    private String formatDate(long millis)
+    {
+        long key = Math.floorDiv( millis, dateResolution );
+        if ( key != lastDateKey )
+        {
+            lastDate = date.format( millis );
+            lastDateKey = key;
+        }
+        return lastDate;
     }
 
     private void appendLevel(StringBuilder builder, Level level)
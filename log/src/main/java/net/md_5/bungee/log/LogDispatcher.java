@@ -1,14 +1,32 @@
 package net.md_5.bungee.log;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
 import java.util.logging.LogRecord;
 
+/**
+ * Writes log records on a thread of its own, in batches, so that logging never
+ * waits for the console or disk.
+ * <br>
+ * Records are held in a bounded queue. When it is full, records below
+ * {@link Level#WARNING} are dropped and counted, unless the
+ * {@code net.md_5.bungee.log-queue-policy} property is set to {@code block}.
+ * Warnings and errors always wait for room instead.
+ */
 public class LogDispatcher extends Thread
 {
 
+    private static final int QUEUE_SIZE = Integer.getInteger( "net.md_5.bungee.log-queue-size", 1 << 14 );
+    private static final boolean DROP = !"block".equalsIgnoreCase( System.getProperty( "net.md_5.bungee.log-queue-policy", "drop" ) );
+    private static final int BATCH_SIZE = 512;
+    //
     private final BungeeLogger logger;
-    private final BlockingQueue<LogRecord> queue = new LinkedBlockingQueue<>();
+    private final BlockingQueue<LogRecord> queue = new ArrayBlockingQueue<>( QUEUE_SIZE );
+    private final AtomicLong dropped = new AtomicLong();
 
     public LogDispatcher(BungeeLogger logger)
     {
@@ -19,30 +37,61 @@ public class LogDispatcher extends Thread
     @Override
     public void run()
     {
+        List<LogRecord> batch = new ArrayList<>( BATCH_SIZE );
         while ( !isInterrupted() )
         {
-            LogRecord record;
             try
             {
-                record = queue.take();
+                batch.add( queue.take() );
             } catch ( InterruptedException ex )
             {
                 continue;
             }
 
-            logger.doLog( record );
+            queue.drainTo( batch, BATCH_SIZE - 1 );
+            log( batch );
+        }
+        queue.drainTo( batch );
+        log( batch );
+    }
+
+    private void log(List<LogRecord> batch)
+    {
+        long count = dropped.getAndSet( 0 );
+        if ( count > 0 )
+        {
+            logger.doLog( new LogRecord( Level.WARNING, "Dropped " + count + " log messages as they were logged faster than they could be written" ) );
         }
-        for ( LogRecord record : queue )
+
+        for ( LogRecord record : batch )
         {
             logger.doLog( record );
         }
+        batch.clear();
+
+        logger.doFlush();
     }
 
     public void queue(LogRecord record)
     {
-        if ( !isInterrupted() )
+        if ( isInterrupted() || queue.offer( record ) )
+        {
+            return;
+        }
+
+        // Waiting on ourselves would never end, which can happen as standard error is logged too
+        if ( ( DROP && record.getLevel().intValue() < Level.WARNING.intValue() ) || Thread.currentThread() == this )
+        {
+            dropped.incrementAndGet();
+            return;
+        }
+
+        try
+        {
+            queue.put( record );
+        } catch ( InterruptedException ex )
         {
-            queue.add( record );
+            Thread.currentThread().interrupt();
         }
     }
 }
@@ -2,13 +2,23 @@
 
 set -eu
 
+# Builds for the architecture of $CC, set it to a cross compiler such as
+# aarch64-linux-gnu-gcc to build for another one
+CC="${CC:-gcc}"
+export CC
+PLATFORM="linux-$($CC -dumpmachine | cut -d- -f1)"
+OUT="src/main/resources/$PLATFORM"
+mkdir -p "$OUT"
+
+echo "Building for $PLATFORM"
+
+# AES-NI and the ARMv8 crypto extensions are detected at runtime by mbed TLS
 echo "Compiling mbedtls"
-(cd mbedtls && make no_test)
+(cd mbedtls && make clean && make no_test)
 
 echo "Compiling zlib"
-(cd zlib && CFLAGS=-fPIC ./configure --static && make)
+(cd zlib && CFLAGS=-fPIC ./configure --static && make clean && make)
 
-CC="gcc"
 CFLAGS="-c -fPIC -O3 -Wall -Werror -I$JAVA_HOME/include/ -I$JAVA_HOME/include/linux/"
 LDFLAGS="-shared"
 
@@ -18,10 +28,10 @@ $CC $CFLAGS -Imbedtls/include -o NativeCipherImpl.o src/main/c/NativeCipherImpl.
 $CC $CFLAGS -Izlib -o NativeCompressImpl.o src/main/c/NativeCompressImpl.c
 
 echo "Linking native-cipher.so"
-$CC $LDFLAGS -o src/main/resources/native-cipher.so shared.o NativeCipherImpl.o mbedtls/library/libmbedcrypto.a
+$CC $LDFLAGS -o $OUT/native-cipher.so shared.o NativeCipherImpl.o mbedtls/library/libmbedcrypto.a
 
 echo "Linking native-compress.so"
-$CC $LDFLAGS -o src/main/resources/native-compress.so shared.o NativeCompressImpl.o zlib/libz.a
+$CC $LDFLAGS -o $OUT/native-compress.so shared.o NativeCompressImpl.o zlib/libz.a
 
 echo "Cleaning up"
 rm shared.o NativeCipherImpl.o NativeCompressImpl.o
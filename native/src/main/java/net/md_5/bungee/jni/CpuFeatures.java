@@ -0,0 +1,84 @@
+package net.md_5.bungee.jni;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Reads the CPU features the native libraries select their implementation
+ * by. mbed TLS uses AES-NI or the ARMv8 crypto extensions, each only if the
+ * CPU reports them. This only reports what is available, the libraries detect
+ * it themselves.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class CpuFeatures
+{
+
+    private static final Map<String, String> FEATURES = ImmutableMap.<String, String>builder()
+            // x86_64
+            .put( "aes", "AES" )
+            .put( "pclmulqdq", "PCLMUL" )
+            .put( "sse4_2", "SSE4.2" )
+            .put( "avx2", "AVX2" )
+            .put( "avx512f", "AVX-512" )
+            .put( "vpclmulqdq", "VPCLMUL" )
+            // aarch64
+            .put( "pmull", "PMULL" )
+            .put( "crc32", "CRC32" )
+            .put( "asimd", "NEON" )
+            .build();
+    private static List<String> features;
+
+    /**
+     * Get the relevant features of this CPU.
+     *
+     * @return the names of the features, empty if they cannot be read
+     */
+    static synchronized List<String> get()
+    {
+        if ( features == null )
+        {
+            features = read();
+        }
+
+        return features;
+    }
+
+    private static List<String> read()
+    {
+        try
+        {
+            for ( String line : Files.readAllLines( Paths.get( "/proc/cpuinfo" ), StandardCharsets.UTF_8 ) )
+            {
+                // flags on x86_64, Features on aarch64
+                if ( line.startsWith( "flags" ) || line.startsWith( "Features" ) )
+                {
+                    List<String> present = Arrays.asList( line.substring( line.indexOf( ':' ) + 1 ).trim().split( " " ) );
+
+                    ImmutableList.Builder<String> builder = ImmutableList.builder();
+                    for ( Map.Entry<String, String> feature : FEATURES.entrySet() )
+                    {
+                        if ( present.contains( feature.getKey() ) )
+                        {
+                            builder.add( feature.getValue() );
+                        }
+                    }
+                    return builder.build();
+                }
+            }
+        } catch ( IOException ex )
+        {
+        }
+
+        return Collections.emptyList();
+    }
+}
@@ -6,12 +6,15 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.List;
 import java.util.function.Supplier;
 import net.md_5.bungee.jni.cipher.BungeeCipher;
 
 public final class NativeCode<T>
 {
 
+    private static final String PLATFORM = detectPlatform();
+
     private final String name;
     private final Supplier<? extends T> javaImpl;
     private final Supplier<? extends T> nativeImpl;
@@ -46,8 +49,14 @@ public final class NativeCode<T>
 
             if ( !loaded )
             {
-                try ( InputStream soFile = BungeeCipher.class.getClassLoader().getResourceAsStream( name + ".so" ) )
+                try ( InputStream soFile = BungeeCipher.class.getClassLoader().getResourceAsStream( getResourceName() ) )
                 {
+                    if ( soFile == null )
+                    {
+                        // Not built for this platform
+                        return false;
+                    }
+
                     // Else we will create and copy it to a temp file
                     File temp = File.createTempFile( fullName, ".so" );
                     // Don't leave cruft on filesystem
@@ -73,8 +82,66 @@ public final class NativeCode<T>
         return loaded;
     }
 
+    /**
+     * Check whether this library was built for the current platform and is
+     * included in the jar.
+     *
+     * @return whether the library is bundled
+     */
+    public boolean isBundled()
+    {
+        return isSupported() && BungeeCipher.class.getClassLoader().getResource( getResourceName() ) != null;
+    }
+
+    private String getResourceName()
+    {
+        return PLATFORM + "/" + name + ".so";
+    }
+
     public static boolean isSupported()
     {
-        return "Linux".equals( System.getProperty( "os.name" ) ) && "amd64".equals( System.getProperty( "os.arch" ) );
+        return PLATFORM != null;
+    }
+
+    /**
+     * Get the platform native libraries are loaded for, which is also the
+     * directory they are bundled in.
+     *
+     * @return the platform, or null if no native libraries exist for it
+     */
+    public static String getPlatform()
+    {
+        return PLATFORM;
+    }
+
+    /**
+     * Describe the platform and the CPU features relevant to the native
+     * libraries, which pick their fastest implementation at runtime.
+     *
+     * @return a description of the platform
+     */
+    public static String describePlatform()
+    {
+        List<String> features = CpuFeatures.get();
+        return ( features.isEmpty() ) ? PLATFORM : PLATFORM + " with " + String.join( ", ", features );
+    }
+
+    private static String detectPlatform()
+    {
+        if ( !"Linux".equals( System.getProperty( "os.name" ) ) )
+        {
+            return null;
+        }
+
+        switch ( System.getProperty( "os.arch" ) )
+        {
+            case "amd64":
+            case "x86_64":
+                return "linux-x86_64";
+            case "aarch64":
+                return "linux-aarch64";
+            default:
+                return null;
+        }
     }
 }
@@ -18,4 +18,13 @@ public interface BungeeCipher
     void cipher(ByteBuf in, ByteBuf out) throws GeneralSecurityException;
 
     ByteBuf cipher(ChannelHandlerContext ctx, ByteBuf in) throws GeneralSecurityException;
+
+    /**
+     * Cipher the readable bytes of a buffer in place, overwriting them with
+     * the result. The indices of the buffer are left unchanged.
+     *
+     * @param buf the buffer to cipher
+     * @throws GeneralSecurityException if the cipher failed
+     */
+    void cipherInPlace(ByteBuf buf) throws GeneralSecurityException;
 }
@@ -2,6 +2,7 @@ package net.md_5.bungee.jni.cipher;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
+import java.nio.ByteBuffer;
 import java.security.GeneralSecurityException;
 import javax.crypto.Cipher;
 import javax.crypto.SecretKey;
@@ -47,6 +48,16 @@ public class JavaCipher implements BungeeCipher
     public void cipher(ByteBuf in, ByteBuf out) throws ShortBufferException
     {
         int readableBytes = in.readableBytes();
+        if ( in.nioBufferCount() == 1 )
+        {
+            out.ensureWritable( cipher.getOutputSize( readableBytes ) );
+            if ( out.nioBufferCount() == 1 )
+            {
+                cipherNio( in, out );
+                return;
+            }
+        }
+
         byte[] heapIn = bufToByte( in );
 
         byte[] heapOut = heapOutLocal.get();
@@ -63,6 +74,21 @@ public class JavaCipher implements BungeeCipher
     public ByteBuf cipher(ChannelHandlerContext ctx, ByteBuf in) throws ShortBufferException
     {
         int readableBytes = in.readableBytes();
+        if ( in.isDirect() && in.nioBufferCount() == 1 )
+        {
+            ByteBuf directOut = ctx.alloc().directBuffer( cipher.getOutputSize( readableBytes ) );
+            try
+            {
+                cipherNio( in, directOut );
+            } catch ( ShortBufferException ex )
+            {
+                directOut.release();
+                throw ex;
+            }
+
+            return directOut;
+        }
+
         byte[] heapIn = bufToByte( in );
 
         ByteBuf heapOut = ctx.alloc().heapBuffer( cipher.getOutputSize( readableBytes ) );
@@ -71,11 +97,50 @@ public class JavaCipher implements BungeeCipher
         return heapOut;
     }
 
+    @Override
+    public void cipherInPlace(ByteBuf buf) throws ShortBufferException
+    {
+        int readableBytes = buf.readableBytes();
+        if ( buf.nioBufferCount() == 1 )
+        {
+            ByteBuffer view = buf.nioBuffer( buf.readerIndex(), readableBytes );
+            // The JDK supports overlapping buffers, but not the same instance
+            cipher.update( view.duplicate(), view );
+            return;
+        }
+
+        byte[] heap = new byte[ readableBytes ];
+        buf.getBytes( buf.readerIndex(), heap );
+        cipher.update( heap, 0, readableBytes, heap );
+        buf.setBytes( buf.readerIndex(), heap );
+    }
+
     @Override
     public void free()
     {
     }
 
+    /**
+     * Cipher directly between the memory of both buffers, without copying
+     * either into a thread local array first. Heap buffers are passed to the
+     * cipher as their backing arrays, and direct buffers are only staged
+     * through the small chunks the JDK uses internally.
+     *
+     * @param in the bytes to cipher
+     * @param out the buffer to write to, which must have enough space
+     * @throws ShortBufferException if out does not have enough space
+     */
+    private void cipherNio(ByteBuf in, ByteBuf out) throws ShortBufferException
+    {
+        int readableBytes = in.readableBytes();
+        ByteBuffer inBuffer = in.nioBuffer( in.readerIndex(), readableBytes );
+        ByteBuffer outBuffer = out.nioBuffer( out.writerIndex(), out.writableBytes() );
+
+        int written = cipher.update( inBuffer, outBuffer );
+        in.skipBytes( readableBytes );
+        out.writerIndex( out.writerIndex() + written );
+    }
+
     private byte[] bufToByte(ByteBuf in)
     {
         byte[] heapIn = heapInLocal.get();
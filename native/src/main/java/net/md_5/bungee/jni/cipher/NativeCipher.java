@@ -62,6 +62,36 @@ public class NativeCipher implements BungeeCipher
         out.writerIndex( out.writerIndex() + length );
     }
 
+    @Override
+    public void cipherInPlace(ByteBuf buf) throws GeneralSecurityException
+    {
+        Preconditions.checkState( ctx != 0, "Invalid pointer to AES key!" );
+
+        int length = buf.readableBytes();
+        if ( length <= 0 )
+        {
+            return;
+        }
+
+        if ( !buf.hasMemoryAddress() )
+        {
+            ByteBuf direct = buf.alloc().directBuffer( length );
+            try
+            {
+                cipher( buf.duplicate(), direct );
+                buf.setBytes( buf.readerIndex(), direct );
+            } finally
+            {
+                direct.release();
+            }
+            return;
+        }
+
+        // CFB-8 reads each byte before writing it, so input and output may be the same memory
+        long address = buf.memoryAddress() + buf.readerIndex();
+        nativeCipher.cipher( ctx, address, address, length );
+    }
+
     @Override
     public ByteBuf cipher(ChannelHandlerContext ctx, ByteBuf in) throws GeneralSecurityException
     {
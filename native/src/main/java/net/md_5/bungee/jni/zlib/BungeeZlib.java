@@ -8,6 +8,14 @@ public interface BungeeZlib
 
     void init(boolean compress, int level);
 
+    /**
+     * Change the level of a compressor, which takes effect from the next
+     * buffer. Must not be called while a buffer is being processed.
+     *
+     * @param level the new compression level
+     */
+    void setLevel(int level);
+
     void free();
 
     void process(ByteBuf in, ByteBuf out) throws DataFormatException;
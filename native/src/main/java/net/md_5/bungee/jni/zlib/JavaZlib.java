@@ -1,5 +1,6 @@
 package net.md_5.bungee.jni.zlib;
 
+import com.google.common.base.Preconditions;
 import io.netty.buffer.ByteBuf;
 import java.util.zip.DataFormatException;
 import java.util.zip.Deflater;
@@ -29,6 +30,14 @@ public class JavaZlib implements BungeeZlib
         }
     }
 
+    @Override
+    public void setLevel(int level)
+    {
+        Preconditions.checkState( compress, "Not a compressor" );
+
+        deflater.setLevel( level );
+    }
+
     @Override
     public void free()
     {
@@ -67,6 +76,10 @@ public class JavaZlib implements BungeeZlib
             while ( !inflater.finished() && inflater.getTotalIn() < inData.length )
             {
                 int count = inflater.inflate( buffer );
+                if ( count > out.maxWritableBytes() )
+                {
+                    throw new DataFormatException( "Output exceeds buffer limit of " + out.maxCapacity() + " bytes" );
+                }
                 out.writeBytes( buffer, 0, count );
             }
 
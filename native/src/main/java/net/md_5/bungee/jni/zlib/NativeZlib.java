@@ -24,6 +24,15 @@ public class NativeZlib implements BungeeZlib
         this.ctx = nativeCompress.init( compress, level );
     }
 
+    @Override
+    public void setLevel(int level)
+    {
+        Preconditions.checkState( compress && ctx != 0, "Not a compressor" );
+
+        // Levels change at most once a second, so a new stream is cheap enough
+        init( true, level );
+    }
+
     @Override
     public void free()
     {
@@ -47,7 +56,12 @@ public class NativeZlib implements BungeeZlib
 
         while ( !nativeCompress.finished && ( compress || in.isReadable() ) )
         {
-            out.ensureWritable( 8192 );
+            int writable = Math.min( 8192, out.maxWritableBytes() );
+            if ( writable == 0 )
+            {
+                throw new DataFormatException( "Output exceeds buffer limit of " + out.maxCapacity() + " bytes" );
+            }
+            out.ensureWritable( writable );
 
             int processed;
             try
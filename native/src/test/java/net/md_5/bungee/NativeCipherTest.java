@@ -31,7 +31,7 @@ public class NativeCipherTest
     @Test
     public void testNative() throws Exception
     {
-        if ( NativeCode.isSupported() )
+        if ( factory.isBundled() )
         {
             boolean loaded = factory.load();
             assertTrue( loaded, "Native cipher failed to load!" );
@@ -45,7 +45,7 @@ public class NativeCipherTest
     @Test
     public void testNativeBenchmark() throws Exception
     {
-        if ( NativeCode.isSupported() )
+        if ( factory.isBundled() )
         {
             boolean loaded = factory.load();
             assertTrue( loaded, "Native cipher failed to load!" );
@@ -77,6 +77,23 @@ public class NativeCipherTest
         testBenchmark( cipher );
     }
 
+    @Test
+    public void testJDKHeap() throws Exception
+    {
+        BungeeCipher cipher = new JavaCipher();
+
+        System.out.println( "Testing Java cipher with heap buffers..." );
+        ByteBuf out = Unpooled.buffer( plainBytes.length );
+        cipher.init( true, secret );
+        cipher.cipher( Unpooled.wrappedBuffer( plainBytes ), out );
+        assertEquals( Unpooled.wrappedBuffer( cipheredBytes ), out );
+
+        out.clear();
+        cipher.init( false, secret );
+        cipher.cipher( Unpooled.wrappedBuffer( cipheredBytes ), out );
+        assertEquals( Unpooled.wrappedBuffer( plainBytes ), out );
+    }
+
     /**
      * Hackish test which can test both native and fallback ciphers using direct
      * buffers.
@@ -108,6 +125,18 @@ public class NativeCipherTest
         nativePlain.resetReaderIndex();
         assertEquals( nativePlain, out );
 
+        // Encrypt in place
+        ByteBuf inPlace = nativePlain.copy();
+        cipher.init( true, secret );
+        cipher.cipherInPlace( inPlace );
+        nativeCiphered.resetReaderIndex();
+        assertEquals( nativeCiphered, inPlace );
+
+        // Decrypt in place
+        cipher.init( false, secret );
+        cipher.cipherInPlace( inPlace );
+        assertEquals( nativePlain, inPlace );
+
         System.out.println( "This cipher works correctly!" );
     }
 
@@ -131,7 +160,7 @@ public class NativeCipherTest
             cipher.cipher( nativePlain, nativeCiphered );
             nativePlain.readerIndex( 0 );
         }
-        System.out.println( String.format( "Encryption Iteration: %d, Elapsed: %d ms", BENCHMARK_COUNT, System.currentTimeMillis() - start ) );
+        printThroughput( "Encryption", random.length, System.currentTimeMillis() - start );
 
         // Create output buf
         ByteBuf out = Unpooled.directBuffer( plainBytes.length );
@@ -145,6 +174,12 @@ public class NativeCipherTest
             nativeCiphered.readerIndex( 0 );
             out.clear();
         }
-        System.out.println( String.format( "Decryption Iteration: %d, Elapsed: %d ms", BENCHMARK_COUNT, System.currentTimeMillis() - start ) );
+        printThroughput( "Decryption", random.length, System.currentTimeMillis() - start );
+    }
+
+    private static void printThroughput(String operation, int size, long elapsed)
+    {
+        long bytes = (long) size * BENCHMARK_COUNT;
+        System.out.println( String.format( "%s Iteration: %d, Elapsed: %d ms, %d MB/s", operation, BENCHMARK_COUNT, elapsed, bytes / 1000 / Math.max( elapsed, 1 ) ) );
     }
 }
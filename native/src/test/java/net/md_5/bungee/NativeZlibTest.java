@@ -3,8 +3,11 @@ package net.md_5.bungee;
 import static org.junit.jupiter.api.Assertions.*;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
+import java.util.function.Supplier;
 import java.util.zip.DataFormatException;
 import net.md_5.bungee.jni.NativeCode;
 import net.md_5.bungee.jni.zlib.BungeeZlib;
@@ -20,7 +23,7 @@ public class NativeZlibTest
     @Test
     public void doTest() throws DataFormatException
     {
-        if ( NativeCode.isSupported() )
+        if ( factory.isBundled() )
         {
             assertTrue( factory.load(), "Native code failed to load!" );
             test( factory.newInstance() );
@@ -31,7 +34,7 @@ public class NativeZlibTest
     @Test
     public void testException() throws DataFormatException
     {
-        if ( NativeCode.isSupported() )
+        if ( factory.isBundled() )
         {
             assertTrue( factory.load(), "Native code failed to load!" );
             testExceptionImpl( factory.newInstance() );
@@ -39,6 +42,58 @@ public class NativeZlibTest
         testExceptionImpl( new JavaZlib() );
     }
 
+    @Test
+    public void testCrossBackend() throws DataFormatException
+    {
+        List<Supplier<BungeeZlib>> backends = new ArrayList<>();
+        backends.add( JavaZlib::new );
+        if ( factory.isBundled() )
+        {
+            assertTrue( factory.load(), "Native code failed to load!" );
+            backends.add( factory::newInstance );
+        }
+
+        // Compressible, packet like data
+        Random random = new Random( 0 );
+        byte[] dataBuf = new byte[ 1 << 16 ];
+        for ( int i = 0; i < dataBuf.length; i++ )
+        {
+            dataBuf[i] = (byte) random.nextInt( 16 );
+        }
+        ByteBuf original = Unpooled.directBuffer();
+        original.writeBytes( dataBuf );
+
+        for ( Supplier<BungeeZlib> compressor : backends )
+        {
+            BungeeZlib deflater = compressor.get();
+            deflater.init( true, 6 );
+
+            ByteBuf compressed = Unpooled.directBuffer();
+            deflater.process( original.duplicate(), compressed );
+            assertTrue( compressed.readableBytes() < dataBuf.length, deflater + " did not compress" );
+
+            for ( Supplier<BungeeZlib> decompressor : backends )
+            {
+                BungeeZlib inflater = decompressor.get();
+                inflater.init( false, 0 );
+
+                ByteBuf uncompressed = Unpooled.directBuffer( dataBuf.length, dataBuf.length );
+                inflater.process( compressed.duplicate(), uncompressed );
+
+                byte[] check = new byte[ uncompressed.readableBytes() ];
+                uncompressed.readBytes( check );
+                assertArrayEquals( dataBuf, check, deflater + " output does not decompress with " + inflater );
+
+                inflater.free();
+                uncompressed.release();
+            }
+
+            deflater.free();
+            compressed.release();
+        }
+        original.release();
+    }
+
     private void test(BungeeZlib zlib) throws DataFormatException
     {
         System.out.println( "Testing: " + zlib );
@@ -64,6 +119,15 @@ public class NativeZlibTest
 
         zlib.process( originalBuf, compressed );
 
+        // And again to test .setLevel()
+        zlib.setLevel( 1 );
+        originalBuf = Unpooled.directBuffer();
+        originalBuf.writeBytes( dataBuf );
+
+        compressed = Unpooled.directBuffer();
+
+        zlib.process( originalBuf, compressed );
+
         ByteBuf uncompressed = Unpooled.directBuffer();
 
         zlib.init( false, 0 );
@@ -4,11 +4,9 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToMessageDecoder;
 import java.util.List;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 
-@AllArgsConstructor
 public class MinecraftDecoder extends MessageToMessageDecoder<ByteBuf>
 {
 
@@ -18,6 +16,27 @@ public class MinecraftDecoder extends MessageToMessageDecoder<ByteBuf>
     private final boolean server;
     @Setter
     private int protocolVersion;
+    /**
+     * Whether the raw packet is forwarded as a retained slice of the inbound
+     * frame rather than a copy. Slices cannot grow, so this must be disabled
+     * whenever something may change the length of {@link PacketWrapper#buf}.
+     */
+    @Getter
+    @Setter
+    private boolean passthrough;
+
+    public MinecraftDecoder(Protocol protocol, boolean server, int protocolVersion)
+    {
+        this( protocol, server, protocolVersion, true );
+    }
+
+    public MinecraftDecoder(Protocol protocol, boolean server, int protocolVersion, boolean passthrough)
+    {
+        this.protocol = protocol;
+        this.server = server;
+        this.protocolVersion = protocolVersion;
+        this.passthrough = passthrough;
+    }
 
     @Override
     protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception
@@ -30,7 +49,8 @@ public class MinecraftDecoder extends MessageToMessageDecoder<ByteBuf>
         }
 
         Protocol.DirectionData prot = ( server ) ? protocol.TO_SERVER : protocol.TO_CLIENT;
-        ByteBuf slice = in.copy(); // Can't slice this one due to EntityMap :(
+        // Only copy if EntityMap may need to resize the packet
+        ByteBuf slice = ( passthrough ) ? in.retainedSlice() : in.copy();
 
         try
         {
@@ -2,6 +2,7 @@ package net.md_5.bungee.protocol;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.MessageToByteEncoder;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -19,9 +20,43 @@ public class MinecraftEncoder extends MessageToByteEncoder<DefinedPacket>
     @Setter
     private int protocolVersion;
 
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception
+    {
+        if ( msg instanceof PreEncodedPacket )
+        {
+            ctx.write( ( (PreEncodedPacket) msg ).get( protocol, server, protocolVersion ), promise );
+        } else
+        {
+            super.write( ctx, msg, promise );
+        }
+    }
+
     @Override
     protected void encode(ChannelHandlerContext ctx, DefinedPacket msg, ByteBuf out) throws Exception
     {
+        encode( msg, out, protocol, server, protocolVersion );
+    }
+
+    /**
+     * Encode a packet outside of any pipeline. The result is identical to what
+     * an encoder with the same state would produce, so it may be written
+     * directly to any channel in that state.
+     *
+     * @param msg the packet to encode
+     * @param out the buffer to write the packet id and body to
+     * @param protocol the protocol the packet belongs to
+     * @param server whether the packet is sent by the proxy to a client
+     * @param protocolVersion the protocol version to encode for
+     */
+    public static void encode(DefinedPacket msg, ByteBuf out, Protocol protocol, boolean server, int protocolVersion)
+    {
+        if ( msg instanceof PreEncodedPacket )
+        {
+            out.writeBytes( ( (PreEncodedPacket) msg ).get( protocol, server, protocolVersion ) );
+            return;
+        }
+
         Protocol.DirectionData prot = ( server ) ? protocol.TO_CLIENT : protocol.TO_SERVER;
         DefinedPacket.writeVarInt( prot.getId( msg.getClass(), protocolVersion ), out );
         msg.write( out, protocol, prot.getDirection(), protocolVersion );
@@ -1,6 +1,7 @@
 package net.md_5.bungee.protocol;
 
 import io.netty.buffer.ByteBuf;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
@@ -13,6 +14,14 @@ public class PacketWrapper
     public final Protocol protocol;
     @Setter
     private boolean released;
+    /**
+     * Whether {@link #buf} still holds the compressed frame as received, being
+     * the uncompressed length followed by the zlib data, rather than the packet
+     * id and body.
+     */
+    @Getter
+    @Setter
+    private boolean compressed;
 
     public void trySingleRelease()
     {
@@ -0,0 +1,96 @@
+package net.md_5.bungee.protocol;
+
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.Getter;
+
+/**
+ * Wraps a packet which is sent often and never changes, such as a channel
+ * registration, so that it only needs to be encoded once for each protocol,
+ * direction and version it is sent with. {@link MinecraftEncoder} writes a
+ * duplicate of the cached bytes instead of encoding the packet again.
+ * <br>
+ * The wrapped packet must not be modified after it has been sent.
+ */
+public final class PreEncodedPacket extends DefinedPacket
+{
+
+    @Getter
+    private final DefinedPacket packet;
+    private final Map<Long, ByteBuf> encoded = new ConcurrentHashMap<>();
+
+    public PreEncodedPacket(DefinedPacket packet)
+    {
+        Preconditions.checkArgument( !( packet instanceof PreEncodedPacket ), "packet is already pre-encoded" );
+        this.packet = Preconditions.checkNotNull( packet, "packet" );
+    }
+
+    /**
+     * Get the encoded packet id and body for the given encoder state, encoding
+     * it if this has not been done before.
+     *
+     * @param protocol the protocol the packet belongs to
+     * @param server whether the packet is sent by the proxy to a client
+     * @param protocolVersion the protocol version to encode for
+     * @return a duplicate of the cached bytes, which does not need to be
+     * released
+     */
+    public ByteBuf get(Protocol protocol, boolean server, int protocolVersion)
+    {
+        long key = ( (long) protocol.ordinal() << 33 ) | ( ( server ) ? 1L << 32 : 0 ) | ( protocolVersion & 0xFFFFFFFFL );
+        return encoded.computeIfAbsent( key, (k) -> encode( protocol, server, protocolVersion ) ).retainedDuplicate();
+    }
+
+    private ByteBuf encode(Protocol protocol, boolean server, int protocolVersion)
+    {
+        ByteBuf buf = PooledByteBufAllocator.DEFAULT.directBuffer();
+        try
+        {
+            MinecraftEncoder.encode( packet, buf, protocol, server, protocolVersion );
+
+            // Backed by a JDK buffer so that it is freed with this object rather than leaked
+            ByteBuffer copy = ByteBuffer.allocateDirect( buf.readableBytes() );
+            buf.getBytes( buf.readerIndex(), copy );
+            copy.flip();
+            return Unpooled.unreleasableBuffer( Unpooled.wrappedBuffer( copy ) );
+        } finally
+        {
+            buf.release();
+        }
+    }
+
+    @Override
+    public Protocol nextProtocol()
+    {
+        return packet.nextProtocol();
+    }
+
+    @Override
+    public void handle(AbstractPacketHandler handler) throws Exception
+    {
+        packet.handle( handler );
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        return obj instanceof PreEncodedPacket && packet.equals( ( (PreEncodedPacket) obj ).packet );
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return packet.hashCode();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "PreEncodedPacket(" + packet + ")";
+    }
+}
@@ -937,6 +937,17 @@ public enum Protocol
             }
         }
 
+        public boolean hasPacket(int id, int version)
+        {
+            ProtocolData protocolData = getProtocolData( version );
+            if ( protocolData == null )
+            {
+                throw new BadPacketException( "Unsupported protocol version" );
+            }
+
+            return id >= 0 && id < MAX_PACKET_ID && protocolData.packetConstructors[id] != null;
+        }
+
         public boolean hasPacket(Class<? extends DefinedPacket> packet, int version)
         {
             ProtocolData protocolData = getProtocolData( version );
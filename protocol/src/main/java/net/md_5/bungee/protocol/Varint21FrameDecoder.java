@@ -1,7 +1,6 @@
 package net.md_5.bungee.protocol;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
 import io.netty.handler.codec.CorruptedFrameException;
@@ -25,50 +24,50 @@ public class Varint21FrameDecoder extends ByteToMessageDecoder
             return;
         }
 
-        in.markReaderIndex();
-
-        final byte[] buf = new byte[ 3 ];
-        for ( int i = 0; i < buf.length; i++ )
+        // Peek the length prefix at absolute indices so an incomplete frame leaves the reader index untouched
+        int readerIndex = in.readerIndex();
+        int readable = in.readableBytes();
+        int length = 0;
+        for ( int i = 0; i < 3; i++ )
         {
-            if ( !in.isReadable() )
+            if ( i >= readable )
             {
-                in.resetReaderIndex();
                 return;
             }
 
-            buf[i] = in.readByte();
-            if ( buf[i] >= 0 )
+            byte b = in.getByte( readerIndex + i );
+            length |= ( b & 0x7F ) << ( i * 7 );
+            if ( b >= 0 )
             {
-                int length = DefinedPacket.readVarInt( Unpooled.wrappedBuffer( buf ) );
                 if ( length == 0 )
                 {
                     throw new CorruptedFrameException( "Empty Packet!" );
                 }
 
-                if ( in.readableBytes() < length )
+                int headerLength = i + 1;
+                if ( readable - headerLength < length )
                 {
-                    in.resetReaderIndex();
                     return;
+                }
+
+                in.skipBytes( headerLength );
+                if ( in.hasMemoryAddress() )
+                {
+                    out.add( in.readRetainedSlice( length ) );
                 } else
                 {
-                    if ( in.hasMemoryAddress() )
-                    {
-                        out.add( in.readRetainedSlice( length ) );
-                    } else
+                    if ( !DIRECT_WARNING )
                     {
-                        if ( !DIRECT_WARNING )
-                        {
-                            DIRECT_WARNING = true;
-                            System.out.println( "Netty is not using direct IO buffers." );
-                        }
-
-                        // See https://github.com/SpigotMC/BungeeCord/issues/1717
-                        ByteBuf dst = ctx.alloc().directBuffer( length );
-                        in.readBytes( dst );
-                        out.add( dst );
+                        DIRECT_WARNING = true;
+                        System.out.println( "Netty is not using direct IO buffers." );
                     }
-                    return;
+
+                    // See https://github.com/SpigotMC/BungeeCord/issues/1717
+                    ByteBuf dst = ctx.alloc().directBuffer( length );
+                    in.readBytes( dst );
+                    out.add( dst );
                 }
+                return;
             }
         }
 
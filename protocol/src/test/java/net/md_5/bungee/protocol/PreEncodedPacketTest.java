@@ -0,0 +1,44 @@
+package net.md_5.bungee.protocol;
+
+import static org.junit.jupiter.api.Assertions.*;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.nio.charset.StandardCharsets;
+import net.md_5.bungee.protocol.packet.PluginMessage;
+import org.junit.jupiter.api.Test;
+
+public class PreEncodedPacketTest
+{
+
+    private static byte[] encode(Object packet, int protocolVersion)
+    {
+        EmbeddedChannel channel = new EmbeddedChannel( new MinecraftEncoder( Protocol.GAME, true, protocolVersion ) );
+        assertTrue( channel.writeOutbound( packet ) );
+
+        ByteBuf buf = channel.readOutbound();
+        try
+        {
+            return ByteBufUtil.getBytes( buf );
+        } finally
+        {
+            buf.release();
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    public void testSameBytes()
+    {
+        PluginMessage message = new PluginMessage( "minecraft:register", "BungeeCord".getBytes( StandardCharsets.UTF_8 ), false );
+        PreEncodedPacket cached = new PreEncodedPacket( message );
+
+        for ( int protocolVersion : new int[]
+        {
+            ProtocolConstants.MINECRAFT_1_13, ProtocolConstants.MINECRAFT_1_20_5, ProtocolConstants.MINECRAFT_1_13
+        } )
+        {
+            assertArrayEquals( encode( message, protocolVersion ), encode( cached, protocolVersion ) );
+        }
+    }
+}
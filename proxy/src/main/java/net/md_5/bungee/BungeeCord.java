@@ -2,6 +2,7 @@ package net.md_5.bungee;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
@@ -27,6 +28,7 @@ import java.nio.charset.StandardCharsets;
 import java.text.Format;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Enumeration;
@@ -40,10 +42,9 @@ import java.util.ResourceBundle;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -80,25 +81,28 @@ import net.md_5.bungee.chat.TranslatableComponentSerializer;
 import net.md_5.bungee.command.CommandBungee;
 import net.md_5.bungee.command.CommandEnd;
 import net.md_5.bungee.command.CommandIP;
+import net.md_5.bungee.command.CommandNetStats;
 import net.md_5.bungee.command.CommandPerms;
 import net.md_5.bungee.command.CommandReload;
 import net.md_5.bungee.command.ConsoleCommandCompleter;
 import net.md_5.bungee.command.ConsoleCommandSender;
 import net.md_5.bungee.compress.CompressFactory;
+import net.md_5.bungee.compress.CompressionTuner;
 import net.md_5.bungee.conf.Configuration;
 import net.md_5.bungee.conf.YamlConfig;
 import net.md_5.bungee.forge.ForgeConstants;
+import net.md_5.bungee.jni.NativeCode;
 import net.md_5.bungee.log.BungeeLogger;
 import net.md_5.bungee.log.LoggingForwardHandler;
 import net.md_5.bungee.log.LoggingOutputStream;
 import net.md_5.bungee.module.ModuleManager;
 import net.md_5.bungee.netty.PipelineUtils;
 import net.md_5.bungee.protocol.DefinedPacket;
+import net.md_5.bungee.protocol.PreEncodedPacket;
 import net.md_5.bungee.protocol.ProtocolConstants;
 import net.md_5.bungee.protocol.packet.PluginMessage;
 import net.md_5.bungee.query.RemoteQuery;
 import net.md_5.bungee.scheduler.BungeeScheduler;
-import net.md_5.bungee.util.CaseInsensitiveMap;
 import org.fusesource.jansi.AnsiConsole;
 import org.slf4j.impl.JDK14LoggerFactory;
 
@@ -134,11 +138,21 @@ public class BungeeCord extends ProxyServer
     /**
      * Fully qualified connections.
      */
-    private final Map<String, UserConnection> connections = new CaseInsensitiveMap<>();
+    private final Map<String, UserConnection> connections = new ConcurrentHashMap<>();
     // Used to help with packet rewriting
-    private final Map<UUID, UserConnection> connectionsByOfflineUUID = new HashMap<>();
-    private final Map<UUID, UserConnection> connectionsByUUID = new HashMap<>();
-    private final ReadWriteLock connectionLock = new ReentrantReadWriteLock();
+    private final Map<UUID, UserConnection> connectionsByOfflineUUID = new ConcurrentHashMap<>();
+    private final Map<UUID, UserConnection> connectionsByUUID = new ConcurrentHashMap<>();
+    /**
+     * Immutable view of all connections, so that it can be handed out without
+     * copying. Joins and leaves only discard it, and it is built again the
+     * next time it is needed.
+     */
+    private volatile ImmutableSet<ProxiedPlayer> players;
+    /**
+     * Serializes modifications of the maps above and rebuilding of the player
+     * view. Lookups do not lock.
+     */
+    private final ReentrantLock connectionLock = new ReentrantLock();
     /**
      * Lock to protect the shutdown process from being triggered simultaneously
      * from multiple sources.
@@ -156,6 +170,11 @@ public class BungeeCord extends ProxyServer
     @Setter
     private ConfigurationAdapter configurationAdapter = new YamlConfig();
     private final Collection<String> pluginChannels = new HashSet<>();
+    /**
+     * Encoded channel registrations, indexed by whether they use the 1.13+
+     * format. Cleared whenever {@link #pluginChannels} changes.
+     */
+    private final PreEncodedPacket[] registerChannels = new PreEncodedPacket[ 2 ];
     @Getter
     private final File pluginsFolder = new File( "plugins" );
     @Getter
@@ -237,17 +256,25 @@ public class BungeeCord extends ProxyServer
         getPluginManager().registerCommand( null, new CommandIP() );
         getPluginManager().registerCommand( null, new CommandBungee() );
         getPluginManager().registerCommand( null, new CommandPerms() );
+        getPluginManager().registerCommand( null, new CommandNetStats() );
 
         if ( !Boolean.getBoolean( "net.md_5.bungee.native.disable" ) )
         {
-            if ( EncryptionUtil.nativeFactory.load() )
+            boolean nativeCipher = EncryptionUtil.nativeFactory.load();
+            boolean nativeCompress = CompressFactory.zlib.load();
+            if ( nativeCipher || nativeCompress )
+            {
+                logger.log( Level.INFO, "Loaded native libraries for {0}", NativeCode.describePlatform() );
+            }
+
+            if ( nativeCipher )
             {
                 logger.info( "Using mbed TLS based native cipher." );
             } else
             {
                 logger.info( "Using standard Java JCE cipher." );
             }
-            if ( CompressFactory.zlib.load() )
+            if ( nativeCompress )
             {
                 logger.info( "Using zlib based native compressor." );
             } else
@@ -284,6 +311,11 @@ public class BungeeCord extends ProxyServer
         pluginManager.loadPlugins();
         config.load();
 
+        if ( config.isAdaptiveCompression() )
+        {
+            CompressionTuner.start( eventLoops );
+        }
+
         if ( config.isForgeSupport() )
         {
             registerChannel( ForgeConstants.FML_TAG );
@@ -303,6 +335,20 @@ public class BungeeCord extends ProxyServer
         }
         startListeners();
 
+        if ( config.isRemotePingRefresh() && config.getRemotePingCache() > 0 )
+        {
+            eventLoops.scheduleAtFixedRate( () ->
+            {
+                for ( ServerInfo server : getServers().values() )
+                {
+                    if ( server instanceof BungeeServerInfo )
+                    {
+                        ( (BungeeServerInfo) server ).refreshPings();
+                    }
+                }
+            }, config.getRemotePingCache(), Math.max( config.getRemotePingCache() / 2, 1 ), TimeUnit.MILLISECONDS );
+        }
+
         saveThread.scheduleAtFixedRate( new TimerTask()
         {
             @Override
@@ -445,17 +491,11 @@ public class BungeeCord extends ProxyServer
         stopListeners();
         getLogger().info( "Closing pending connections" );
 
-        connectionLock.readLock().lock();
-        try
+        Collection<ProxiedPlayer> users = getPlayers();
+        getLogger().log( Level.INFO, "Disconnecting {0} connections", users.size() );
+        for ( ProxiedPlayer user : users )
         {
-            getLogger().log( Level.INFO, "Disconnecting {0} connections", connections.size() );
-            for ( UserConnection user : connections.values() )
-            {
-                user.disconnect( reason );
-            }
-        } finally
-        {
-            connectionLock.readLock().unlock();
+            user.disconnect( reason );
         }
 
         try
@@ -491,6 +531,7 @@ public class BungeeCord extends ProxyServer
             getScheduler().cancel( plugin );
             plugin.getExecutorService().shutdownNow();
         }
+        scheduler.shutdown();
 
         getLogger().info( "Closing IO threads" );
         eventLoops.shutdownGracefully();
@@ -525,17 +566,7 @@ public class BungeeCord extends ProxyServer
      */
     public void broadcast(DefinedPacket packet)
     {
-        connectionLock.readLock().lock();
-        try
-        {
-            for ( UserConnection con : connections.values() )
-            {
-                con.unsafe().sendPacket( packet );
-            }
-        } finally
-        {
-            connectionLock.readLock().unlock();
-        }
+        PacketBroadcaster.broadcast( getPlayers(), packet );
     }
 
     @Override
@@ -596,17 +627,26 @@ public class BungeeCord extends ProxyServer
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public Collection<ProxiedPlayer> getPlayers()
     {
-        connectionLock.readLock().lock();
-        try
+        ImmutableSet<ProxiedPlayer> snapshot = players;
+        if ( snapshot == null )
         {
-            return Collections.unmodifiableCollection( new HashSet( connections.values() ) );
-        } finally
-        {
-            connectionLock.readLock().unlock();
+            connectionLock.lock();
+            try
+            {
+                snapshot = players;
+                if ( snapshot == null )
+                {
+                    snapshot = ImmutableSet.copyOf( connections.values() );
+                    players = snapshot;
+                }
+            } finally
+            {
+                connectionLock.unlock();
+            }
         }
+        return snapshot;
     }
 
     @Override
@@ -618,14 +658,7 @@ public class BungeeCord extends ProxyServer
     @Override
     public ProxiedPlayer getPlayer(String name)
     {
-        connectionLock.readLock().lock();
-        try
-        {
-            return connections.get( name );
-        } finally
-        {
-            connectionLock.readLock().unlock();
-        }
+        return connections.get( name.toLowerCase( Locale.ROOT ) );
     }
 
     public UserConnection getPlayerByOfflineUUID(UUID uuid)
@@ -634,27 +667,17 @@ public class BungeeCord extends ProxyServer
         {
             return null;
         }
-        connectionLock.readLock().lock();
-        try
-        {
-            return connectionsByOfflineUUID.get( uuid );
-        } finally
-        {
-            connectionLock.readLock().unlock();
-        }
+        return connectionsByOfflineUUID.get( uuid );
     }
 
     @Override
     public ProxiedPlayer getPlayer(UUID uuid)
     {
-        connectionLock.readLock().lock();
-        try
-        {
-            return connectionsByUUID.get( uuid );
-        } finally
+        if ( uuid == null )
         {
-            connectionLock.readLock().unlock();
+            return null;
         }
+        return connectionsByUUID.get( uuid );
     }
 
     @Override
@@ -674,6 +697,7 @@ public class BungeeCord extends ProxyServer
     public void registerChannel(String channel)
     {
         pluginChannels.add( channel );
+        Arrays.fill( registerChannels, null );
     }
 
     @Override
@@ -681,6 +705,7 @@ public class BungeeCord extends ProxyServer
     public void unregisterChannel(String channel)
     {
         pluginChannels.remove( channel );
+        Arrays.fill( registerChannels, null );
     }
 
     @Override
@@ -690,9 +715,36 @@ public class BungeeCord extends ProxyServer
         return Collections.unmodifiableCollection( pluginChannels );
     }
 
+    @Synchronized("pluginChannels")
     public PluginMessage registerChannels(int protocolVersion)
     {
-        if ( protocolVersion >= ProtocolConstants.MINECRAFT_1_13 )
+        return createRegisterChannels( protocolVersion >= ProtocolConstants.MINECRAFT_1_13 );
+    }
+
+    /**
+     * Get the channel registration for the given version, encoded at most once
+     * for as long as the registered channels do not change.
+     *
+     * @param protocolVersion the version to register channels for
+     * @return the shared packet, which must not be modified
+     */
+    @Synchronized("pluginChannels")
+    public PreEncodedPacket getEncodedRegisterChannels(int protocolVersion)
+    {
+        boolean modern = protocolVersion >= ProtocolConstants.MINECRAFT_1_13;
+        PreEncodedPacket packet = registerChannels[ ( modern ) ? 1 : 0 ];
+        if ( packet == null )
+        {
+            packet = new PreEncodedPacket( createRegisterChannels( modern ) );
+            registerChannels[ ( modern ) ? 1 : 0 ] = packet;
+        }
+
+        return packet;
+    }
+
+    private PluginMessage createRegisterChannels(boolean modern)
+    {
+        if ( modern )
         {
             return new PluginMessage( "minecraft:register", String.join( "\00", Iterables.transform( pluginChannels, PluginMessage.MODERNISE ) ).getBytes( StandardCharsets.UTF_8 ), false );
         }
@@ -721,7 +773,9 @@ public class BungeeCord extends ProxyServer
     @Override
     public ServerInfo constructServerInfo(String name, SocketAddress address, String motd, boolean restricted)
     {
-        return new BungeeServerInfo( name, address, motd, restricted );
+        BungeeServerInfo info = new BungeeServerInfo( name, address, motd, restricted );
+        info.setCompressionLevel( config.getServerCompressionLevel() );
+        return info;
     }
 
     @Override
@@ -740,20 +794,14 @@ public class BungeeCord extends ProxyServer
     public void broadcast(BaseComponent... message)
     {
         getConsole().sendMessage( message );
-        for ( ProxiedPlayer player : getPlayers() )
-        {
-            player.sendMessage( message );
-        }
+        PacketBroadcaster.broadcast( getPlayers(), message );
     }
 
     @Override
     public void broadcast(BaseComponent message)
     {
         getConsole().sendMessage( message );
-        for ( ProxiedPlayer player : getPlayers() )
-        {
-            player.sendMessage( message );
-        }
+        PacketBroadcaster.broadcast( getPlayers(), message );
     }
 
     public boolean addConnection(UserConnection con)
@@ -763,38 +811,42 @@ public class BungeeCord extends ProxyServer
         {
             throw new IllegalArgumentException( "Offline UUID must be a name-based UUID" );
         }
-        connectionLock.writeLock().lock();
+        String name = con.getName().toLowerCase( Locale.ROOT );
+        connectionLock.lock();
         try
         {
-            if ( connections.containsKey( con.getName() ) || connectionsByUUID.containsKey( con.getUniqueId() ) || connectionsByOfflineUUID.containsKey( offlineId ) )
+            if ( connections.containsKey( name ) || connectionsByUUID.containsKey( con.getUniqueId() ) || connectionsByOfflineUUID.containsKey( offlineId ) )
             {
                 return false;
             }
-            connections.put( con.getName(), con );
+            connections.put( name, con );
             connectionsByUUID.put( con.getUniqueId(), con );
             connectionsByOfflineUUID.put( offlineId, con );
+            players = null;
         } finally
         {
-            connectionLock.writeLock().unlock();
+            connectionLock.unlock();
         }
         return true;
     }
 
     public void removeConnection(UserConnection con)
     {
-        connectionLock.writeLock().lock();
+        String name = con.getName().toLowerCase( Locale.ROOT );
+        connectionLock.lock();
         try
         {
             // TODO See #1218
-            if ( connections.get( con.getName() ) == con )
+            if ( connections.get( name ) == con )
             {
-                connections.remove( con.getName() );
+                connections.remove( name );
                 connectionsByUUID.remove( con.getUniqueId() );
                 connectionsByOfflineUUID.remove( con.getPendingConnection().getOfflineId() );
+                players = null;
             }
         } finally
         {
-            connectionLock.writeLock().unlock();
+            connectionLock.unlock();
         }
     }
 
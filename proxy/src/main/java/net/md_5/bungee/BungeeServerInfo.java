@@ -14,8 +14,10 @@ import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.zip.Deflater;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.Synchronized;
 import lombok.ToString;
 import net.md_5.bungee.api.Callback;
@@ -29,6 +31,7 @@ import net.md_5.bungee.connection.PingHandler;
 import net.md_5.bungee.netty.HandlerBoss;
 import net.md_5.bungee.netty.PipelineUtils;
 import net.md_5.bungee.protocol.DefinedPacket;
+import net.md_5.bungee.protocol.ProtocolConstants;
 import net.md_5.bungee.protocol.packet.PluginMessage;
 
 // CHECKSTYLE:OFF
@@ -52,6 +55,13 @@ public class BungeeServerInfo implements ServerInfo
     private final boolean restricted;
     @Getter
     private final Queue<DefinedPacket> packetQueue = new LinkedList<>();
+    /**
+     * Zlib compression level used for connections to this server, from 0 to
+     * 9, or -1 for the zlib default.
+     */
+    @Getter
+    @Setter
+    private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
 
     @Synchronized("players")
     public void addPlayer(ProxiedPlayer player)
@@ -129,16 +139,27 @@ public class BungeeServerInfo implements ServerInfo
         return false;
     }
 
-    private long lastPing;
-    private ServerPing cachedPing;
+    private final PingCache pingCache = new PingCache( this::fetchPing );
+
+    /**
+     * Refresh cached pings which are still being asked for, so that they do
+     * not go stale.
+     */
+    public void refreshPings()
+    {
+        pingCache.refresh();
+    }
 
+    /**
+     * Cache a response for the proxy's protocol version.
+     *
+     * @param serverPing the response
+     * @deprecated pings are cached by {@link #ping(Callback, int)} itself
+     */
+    @Deprecated
     public void cachePing(ServerPing serverPing)
     {
-        if ( ProxyServer.getInstance().getConfig().getRemotePingCache() > 0 )
-        {
-            this.cachedPing = serverPing;
-            this.lastPing = System.currentTimeMillis();
-        }
+        pingCache.put( ProxyServer.getInstance().getProtocolVersion(), serverPing );
     }
 
     @Override
@@ -157,18 +178,13 @@ public class BungeeServerInfo implements ServerInfo
     {
         Preconditions.checkNotNull( callback, "callback" );
 
-        int pingCache = ProxyServer.getInstance().getConfig().getRemotePingCache();
-        if ( pingCache > 0 && cachedPing != null && ( System.currentTimeMillis() - lastPing ) > pingCache )
-        {
-            cachedPing = null;
-        }
-
-        if ( cachedPing != null )
-        {
-            callback.done( cachedPing, null );
-            return;
-        }
+        // Don't let arbitrary versions sent by clients each get their own ping
+        int version = ( ProtocolConstants.SUPPORTED_VERSION_IDS.contains( protocolVersion ) ) ? protocolVersion : ProxyServer.getInstance().getProtocolVersion();
+        pingCache.get( version, callback );
+    }
 
+    private void fetchPing(final int protocolVersion, final Callback<ServerPing> callback)
+    {
         ChannelFutureListener listener = new ChannelFutureListener()
         {
             @Override
@@ -186,7 +202,7 @@ public class BungeeServerInfo implements ServerInfo
         new Bootstrap()
                 .channel( PipelineUtils.getChannel( socketAddress ) )
                 .group( BungeeCord.getInstance().eventLoops )
-                .handler( PipelineUtils.BASE_SERVERSIDE )
+                .handler( PipelineUtils.BASE )
                 .option( ChannelOption.CONNECT_TIMEOUT_MILLIS, BungeeCord.getInstance().getConfig().getRemotePingTimeout() )
                 .remoteAddress( socketAddress )
                 .connect()
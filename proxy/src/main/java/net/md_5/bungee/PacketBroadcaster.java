@@ -0,0 +1,227 @@
+package net.md_5.bungee;
+
+import io.netty.buffer.ByteBuf;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.ScoreComponent;
+import net.md_5.bungee.api.chat.SelectorComponent;
+import net.md_5.bungee.api.chat.TextComponent;
+import net.md_5.bungee.api.chat.TranslatableComponent;
+import net.md_5.bungee.api.connection.ProxiedPlayer;
+import net.md_5.bungee.chat.ComponentSerializer;
+import net.md_5.bungee.netty.ChannelWrapper;
+import net.md_5.bungee.protocol.DefinedPacket;
+import net.md_5.bungee.protocol.MinecraftEncoder;
+import net.md_5.bungee.protocol.PacketWrapper;
+import net.md_5.bungee.protocol.Protocol;
+import net.md_5.bungee.protocol.ProtocolConstants;
+import net.md_5.bungee.protocol.packet.Chat;
+import net.md_5.bungee.protocol.packet.SystemChat;
+import net.md_5.bungee.util.ChatComponentTransformer;
+
+/**
+ * Sends the same packet to many players, encoding it once per protocol version
+ * rather than once per player. Every recipient is written a duplicate of the
+ * shared buffer, so only compression and encryption remain per channel.
+ * <br>
+ * Players which are not currently in the game protocol fall back to the normal
+ * send path, so that packets are queued and encoded as usual.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class PacketBroadcaster
+{
+
+    /**
+     * Send a packet to all given players.
+     *
+     * @param players the recipients
+     * @param packet the packet to send
+     */
+    static void broadcast(Collection<ProxiedPlayer> players, DefinedPacket packet)
+    {
+        Map<Integer, PacketWrapper> encoded = new HashMap<>();
+        try
+        {
+            for ( ProxiedPlayer player : players )
+            {
+                UserConnection con = (UserConnection) player;
+                PacketWrapper shared = getEncoded( con, encoded, (version) -> packet );
+                if ( shared != null )
+                {
+                    send( con, shared );
+                } else
+                {
+                    con.unsafe().sendPacket( packet );
+                }
+            }
+        } finally
+        {
+            release( encoded );
+        }
+    }
+
+    /**
+     * Send a system chat message to all given players.
+     *
+     * @param players the recipients
+     * @param message the message to send
+     */
+    static void broadcast(Collection<ProxiedPlayer> players, BaseComponent message)
+    {
+        broadcast( players, message, false, (con) -> con.sendMessage( message ) );
+    }
+
+    /**
+     * Send a system chat message made of several components to all given
+     * players. Clients before 1.19 are sent the message one by one as before,
+     * so that its JSON does not change.
+     *
+     * @param players the recipients
+     * @param message the message to send
+     */
+    static void broadcast(Collection<ProxiedPlayer> players, BaseComponent... message)
+    {
+        broadcast( players, TextComponent.fromArray( message ), true, (con) -> con.sendMessage( message ) );
+    }
+
+    private static void broadcast(Collection<ProxiedPlayer> players, BaseComponent message, boolean legacyPerPlayer, Consumer<UserConnection> fallback)
+    {
+        // Score and selector components are resolved for each viewer
+        if ( isPerPlayer( message ) )
+        {
+            for ( ProxiedPlayer player : players )
+            {
+                fallback.accept( (UserConnection) player );
+            }
+            return;
+        }
+
+        Map<Integer, PacketWrapper> encoded = new HashMap<>();
+        try
+        {
+            for ( ProxiedPlayer player : players )
+            {
+                UserConnection con = (UserConnection) player;
+                PacketWrapper shared = getEncoded( con, encoded, (version) ->
+                        ( legacyPerPlayer && version < ProtocolConstants.MINECRAFT_1_19 ) ? null : createChat( con, version, message ) );
+                if ( shared != null )
+                {
+                    send( con, shared );
+                } else
+                {
+                    fallback.accept( con );
+                }
+            }
+        } finally
+        {
+            release( encoded );
+        }
+    }
+
+    private static PacketWrapper getEncoded(UserConnection con, Map<Integer, PacketWrapper> encoded, IntFunction<DefinedPacket> factory)
+    {
+        ChannelWrapper ch = con.getCh();
+        if ( ch.isClosing() || ch.getEncodeProtocol() != Protocol.GAME )
+        {
+            return null;
+        }
+
+        int version = ch.getEncodeVersion();
+        if ( encoded.containsKey( version ) )
+        {
+            return encoded.get( version );
+        }
+
+        DefinedPacket packet = factory.apply( version );
+        if ( packet == null )
+        {
+            // Not shared for this version
+            encoded.put( version, null );
+            return null;
+        }
+
+        ByteBuf buf = ch.getHandle().alloc().directBuffer();
+        PacketWrapper shared = null;
+        try
+        {
+            MinecraftEncoder.encode( packet, buf, Protocol.GAME, true, version );
+            shared = new PacketWrapper( packet, buf, Protocol.GAME );
+        } catch ( RuntimeException ex )
+        {
+            // Not valid for this version, let the regular path deal with it
+            buf.release();
+        }
+        encoded.put( version, shared );
+
+        return shared;
+    }
+
+    private static void send(UserConnection con, PacketWrapper shared)
+    {
+        PacketWrapper wrapper = new PacketWrapper( shared.packet, shared.buf.retainedDuplicate(), shared.protocol );
+        con.sendPacket( wrapper );
+        // Not written if the channel was closed in the meantime
+        wrapper.trySingleRelease();
+    }
+
+    private static void release(Map<Integer, PacketWrapper> encoded)
+    {
+        for ( PacketWrapper shared : encoded.values() )
+        {
+            if ( shared != null )
+            {
+                shared.trySingleRelease();
+            }
+        }
+    }
+
+    private static DefinedPacket createChat(UserConnection con, int version, BaseComponent message)
+    {
+        // Hover transformation depends only on the version, but must not leak into other versions
+        BaseComponent transformed = ChatComponentTransformer.getInstance().transform( con, true, message.duplicate() );
+        if ( version >= ProtocolConstants.MINECRAFT_1_19 )
+        {
+            return new SystemChat( transformed, ChatMessageType.SYSTEM.ordinal() );
+        }
+
+        return new Chat( ComponentSerializer.toString( transformed ), (byte) ChatMessageType.SYSTEM.ordinal(), null );
+    }
+
+    private static boolean isPerPlayer(BaseComponent component)
+    {
+        if ( component instanceof ScoreComponent || component instanceof SelectorComponent )
+        {
+            return true;
+        }
+        if ( component instanceof TranslatableComponent && isPerPlayer( ( (TranslatableComponent) component ).getWith() ) )
+        {
+            return true;
+        }
+
+        return isPerPlayer( component.getExtra() );
+    }
+
+    private static boolean isPerPlayer(List<BaseComponent> components)
+    {
+        if ( components != null )
+        {
+            for ( BaseComponent component : components )
+            {
+                if ( isPerPlayer( component ) )
+                {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+}
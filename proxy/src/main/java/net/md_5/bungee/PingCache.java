@@ -0,0 +1,179 @@
+package net.md_5.bungee;
+
+import com.google.gson.Gson;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import lombok.RequiredArgsConstructor;
+import net.md_5.bungee.api.Callback;
+import net.md_5.bungee.api.ProxyServer;
+import net.md_5.bungee.api.ServerPing;
+
+/**
+ * Caches the status of a server for each protocol version it is pinged with.
+ * <br>
+ * Only one ping per version is in flight at a time, and everyone asking while
+ * it is gets its result. Responses are served for {@code remote_ping_cache}
+ * milliseconds, and for as long again while a new one is fetched in the
+ * background. Every caller gets its own copy, as ping events may modify it.
+ */
+@RequiredArgsConstructor
+final class PingCache
+{
+
+    private final BiConsumer<Integer, Callback<ServerPing>> fetcher;
+    private final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+
+    private static class Entry
+    {
+
+        private String response;
+        private long time;
+        private long lastRequest;
+        // Non-null while a ping is in flight
+        private List<Callback<ServerPing>> waiting;
+    }
+
+    private static long getTimeToLive()
+    {
+        return TimeUnit.MILLISECONDS.toNanos( ProxyServer.getInstance().getConfig().getRemotePingCache() );
+    }
+
+    void get(int protocolVersion, Callback<ServerPing> callback)
+    {
+        long ttl = getTimeToLive();
+        Entry entry = entries.computeIfAbsent( protocolVersion, (k) -> new Entry() );
+
+        String cached = null;
+        boolean fetch = false;
+        synchronized ( entry )
+        {
+            long now = System.nanoTime();
+            entry.lastRequest = now;
+
+            if ( ttl > 0 && entry.response != null && now - entry.time <= 2 * ttl )
+            {
+                cached = entry.response;
+                // Stale, but still good enough while it is being refreshed
+                if ( now - entry.time > ttl && entry.waiting == null )
+                {
+                    entry.waiting = new ArrayList<>();
+                    fetch = true;
+                }
+            } else
+            {
+                if ( entry.waiting == null )
+                {
+                    entry.waiting = new ArrayList<>();
+                    fetch = true;
+                }
+                entry.waiting.add( callback );
+            }
+        }
+
+        if ( cached != null )
+        {
+            callback.done( parse( cached ), null );
+        }
+        if ( fetch )
+        {
+            fetch( protocolVersion, entry );
+        }
+    }
+
+    /**
+     * Store a response which was obtained elsewhere.
+     *
+     * @param protocolVersion the version it was pinged with
+     * @param ping the response
+     */
+    void put(int protocolVersion, ServerPing ping)
+    {
+        if ( getTimeToLive() <= 0 )
+        {
+            return;
+        }
+
+        String json = gson().toJson( ping );
+        Entry entry = entries.computeIfAbsent( protocolVersion, (k) -> new Entry() );
+        synchronized ( entry )
+        {
+            entry.response = json;
+            entry.time = System.nanoTime();
+        }
+    }
+
+    /**
+     * Refresh responses which have been asked for recently and are past half
+     * their lifetime, so that they never need to be waited for.
+     */
+    void refresh()
+    {
+        long ttl = getTimeToLive();
+        if ( ttl <= 0 )
+        {
+            return;
+        }
+
+        for ( Map.Entry<Integer, Entry> mapEntry : entries.entrySet() )
+        {
+            Entry entry = mapEntry.getValue();
+            synchronized ( entry )
+            {
+                long now = System.nanoTime();
+                if ( entry.waiting != null || now - entry.lastRequest > 2 * ttl || ( entry.response != null && now - entry.time <= ttl / 2 ) )
+                {
+                    continue;
+                }
+                entry.waiting = new ArrayList<>();
+            }
+
+            fetch( mapEntry.getKey(), entry );
+        }
+    }
+
+    private void fetch(int protocolVersion, Entry entry)
+    {
+        fetcher.accept( protocolVersion, (result, error) ->
+        {
+            String json = ( result != null ) ? gson().toJson( result ) : null;
+
+            List<Callback<ServerPing>> waiting;
+            synchronized ( entry )
+            {
+                if ( json != null )
+                {
+                    entry.response = json;
+                    entry.time = System.nanoTime();
+                }
+                waiting = entry.waiting;
+                entry.waiting = null;
+            }
+
+            for ( int i = 0; i < waiting.size(); i++ )
+            {
+                try
+                {
+                    waiting.get( i ).done( ( json == null ) ? null : ( i == 0 ) ? result : parse( json ), error );
+                } catch ( Throwable t )
+                {
+                    ProxyServer.getInstance().getLogger().log( Level.WARNING, "Exception passing on server ping", t );
+                }
+            }
+        } );
+    }
+
+    private static ServerPing parse(String json)
+    {
+        return gson().fromJson( json, ServerPing.class );
+    }
+
+    private static Gson gson()
+    {
+        return BungeeCord.getInstance().gson;
+    }
+}
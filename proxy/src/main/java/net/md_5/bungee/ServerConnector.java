@@ -187,7 +187,7 @@ public class ServerConnector extends PacketHandler
     @Override
     public void handle(SetCompression setCompression) throws Exception
     {
-        ch.setCompressionThreshold( setCompression.getThreshold() );
+        ch.setCompressionThreshold( setCompression.getThreshold(), target.getCompressionLevel(), BungeeCord.getInstance().config.isAdaptiveCompression() );
     }
 
     @Override
@@ -211,7 +211,7 @@ public class ServerConnector extends PacketHandler
         ServerConnectedEvent event = new ServerConnectedEvent( user, server );
         bungee.getPluginManager().callEvent( event );
 
-        ch.write( BungeeCord.getInstance().registerChannels( user.getPendingConnection().getVersion() ) );
+        ch.write( BungeeCord.getInstance().getEncodedRegisterChannels( user.getPendingConnection().getVersion() ) );
         Queue<DefinedPacket> packetQueue = target.getPacketQueue();
         synchronized ( packetQueue )
         {
@@ -273,7 +273,7 @@ public class ServerConnector extends PacketHandler
                         login.getPortalCooldown() ) );
             } else
             {
-                user.unsafe().sendPacket( BungeeCord.getInstance().registerChannels( user.getPendingConnection().getVersion() ) );
+                user.unsafe().sendPacket( BungeeCord.getInstance().getEncodedRegisterChannels( user.getPendingConnection().getVersion() ) );
 
                 ByteBuf brand = ByteBufAllocator.DEFAULT.heapBuffer();
                 DefinedPacket.writeString( bungee.getName() + " (" + bungee.getVersion() + ")", brand );
@@ -320,16 +320,27 @@ public class ServerConnector extends PacketHandler
             }
             user.getSentBossBars().clear();
 
-            // Update debug info from login packet
-            user.unsafe().sendPacket( new EntityStatus( user.getClientEntityId(), login.isReducedDebugInfo() ? EntityStatus.DEBUG_INFO_REDUCED : EntityStatus.DEBUG_INFO_NORMAL ) );
-            // And immediate respawn
-            if ( user.getPendingConnection().getVersion() >= ProtocolConstants.MINECRAFT_1_15 )
+            user.setDimensionChange( true );
+            boolean syncEntityIds = BungeeCord.getInstance().config.isSyncEntityIds();
+            if ( syncEntityIds )
+            {
+                // Log in again so the client takes on the new entity id and no rewriting is needed, into another dimension so the respawn below reloads the world
+                user.setClientEntityId( login.getEntityId() );
+                user.unsafe().sendPacket( new Login( login.getEntityId(), login.isHardcore(), login.getGameMode(), login.getPreviousGameMode(), login.getWorldNames(), login.getDimensions(), (Integer) login.getDimension() >= 0 ? -1 : 0, login.getWorldName(), login.getSeed(),
+                        login.getDifficulty(), (byte) user.getPendingConnection().getListener().getTabListSize(), login.getLevelType(), login.getViewDistance(), login.getSimulationDistance(), login.isReducedDebugInfo(), login.isNormalRespawn(), login.isLimitedCrafting(),
+                        login.isDebug(), login.isFlat(), login.getDeathLocation(), login.getPortalCooldown(), login.isSecureProfile() ) );
+            } else
             {
-                user.unsafe().sendPacket( new GameState( GameState.IMMEDIATE_RESPAWN, login.isNormalRespawn() ? 0 : 1 ) );
+                // Update debug info from login packet
+                user.unsafe().sendPacket( new EntityStatus( user.getClientEntityId(), login.isReducedDebugInfo() ? EntityStatus.DEBUG_INFO_REDUCED : EntityStatus.DEBUG_INFO_NORMAL ) );
+                // And immediate respawn
+                if ( user.getPendingConnection().getVersion() >= ProtocolConstants.MINECRAFT_1_15 )
+                {
+                    user.unsafe().sendPacket( new GameState( GameState.IMMEDIATE_RESPAWN, login.isNormalRespawn() ? 0 : 1 ) );
+                }
             }
 
-            user.setDimensionChange( true );
-            if ( login.getDimension() == user.getDimension() )
+            if ( login.getDimension() == user.getDimension() && !syncEntityIds )
             {
                 user.unsafe().sendPacket( new Respawn( (Integer) login.getDimension() >= 0 ? -1 : 0, login.getWorldName(), login.getSeed(), login.getDifficulty(), login.getGameMode(), login.getPreviousGameMode(), login.getLevelType(), login.isDebug(), login.isFlat(),
                         (byte) 0, login.getDeathLocation(), login.getPortalCooldown() ) );
@@ -386,7 +397,14 @@ public class ServerConnector extends PacketHandler
 
         ServerInfo from = ( user.getServer() == null ) ? null : user.getServer().getInfo();
         user.setServer( server );
-        ch.getHandle().pipeline().get( HandlerBoss.class ).setHandler( new DownstreamBridge( bungee, user, server ) );
+        DownstreamBridge bridge = new DownstreamBridge( bungee, user, server );
+        ch.getHandle().pipeline().get( HandlerBoss.class ).setHandler( bridge );
+        bridge.updateCompressedPassthrough();
+        // Don't read from the new server until the client can keep up again
+        if ( !user.getCh().getHandle().isWritable() )
+        {
+            ch.getHandle().config().setAutoRead( false );
+        }
 
         bungee.getPluginManager().callEvent( new ServerSwitchEvent( user, from ) );
 
@@ -53,6 +53,7 @@ import net.md_5.bungee.protocol.DefinedPacket;
 import net.md_5.bungee.protocol.MinecraftDecoder;
 import net.md_5.bungee.protocol.MinecraftEncoder;
 import net.md_5.bungee.protocol.PacketWrapper;
+import net.md_5.bungee.protocol.PreEncodedPacket;
 import net.md_5.bungee.protocol.Protocol;
 import net.md_5.bungee.protocol.ProtocolConstants;
 import net.md_5.bungee.protocol.packet.Chat;
@@ -159,6 +160,7 @@ public final class UserConnection implements ProxiedPlayer
     public boolean init()
     {
         this.entityRewrite = EntityMap.getEntityMap( getPendingConnection().getVersion() );
+        ch.setDecodePassthrough( entityRewrite.isLengthPreserving() );
 
         this.displayName = name;
 
@@ -187,7 +189,8 @@ public final class UserConnection implements ProxiedPlayer
     public void sendPacketQueued(DefinedPacket packet)
     {
         Protocol encodeProtocol = ch.getEncodeProtocol();
-        if ( !encodeProtocol.TO_CLIENT.hasPacket( packet.getClass(), getPendingConnection().getVersion() ) )
+        DefinedPacket actual = ( packet instanceof PreEncodedPacket ) ? ( (PreEncodedPacket) packet ).getPacket() : packet;
+        if ( !encodeProtocol.TO_CLIENT.hasPacket( actual.getClass(), getPendingConnection().getVersion() ) )
         {
             packetQueue.add( packet );
         } else
@@ -352,8 +355,8 @@ public final class UserConnection implements ProxiedPlayer
             @Override
             protected void initChannel(Channel ch) throws Exception
             {
-                PipelineUtils.BASE_SERVERSIDE.initChannel( ch );
-                ch.pipeline().addAfter( PipelineUtils.FRAME_DECODER, PipelineUtils.PACKET_DECODER, new MinecraftDecoder( Protocol.HANDSHAKE, false, getPendingConnection().getVersion() ) );
+                PipelineUtils.BASE.initChannel( ch );
+                ch.pipeline().addAfter( PipelineUtils.FRAME_DECODER, PipelineUtils.PACKET_DECODER, new MinecraftDecoder( Protocol.HANDSHAKE, false, getPendingConnection().getVersion(), entityRewrite.isLengthPreserving() ) );
                 ch.pipeline().addAfter( PipelineUtils.FRAME_PREPENDER, PipelineUtils.PACKET_ENCODER, new MinecraftEncoder( Protocol.HANDSHAKE, false, getPendingConnection().getVersion() ) );
                 ch.pipeline().get( HandlerBoss.class ).setHandler( new ServerConnector( bungee, UserConnection.this, target ) );
             }
@@ -764,7 +767,7 @@ public final class UserConnection implements ProxiedPlayer
         {
             this.compressionThreshold = compressionThreshold;
             unsafe.sendPacket( new SetCompression( compressionThreshold ) );
-            ch.setCompressionThreshold( compressionThreshold );
+            ch.setCompressionThreshold( compressionThreshold, getPendingConnection().getListener().getCompressionLevel(), BungeeCord.getInstance().config.isAdaptiveCompression() );
         }
     }
 
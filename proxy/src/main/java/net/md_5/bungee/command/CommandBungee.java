@@ -1,9 +1,12 @@
 package net.md_5.bungee.command;
 
+import net.md_5.bungee.EncryptionUtil;
 import net.md_5.bungee.api.ChatColor;
 import net.md_5.bungee.api.CommandSender;
 import net.md_5.bungee.api.ProxyServer;
 import net.md_5.bungee.api.plugin.Command;
+import net.md_5.bungee.compress.CompressFactory;
+import net.md_5.bungee.jni.NativeCode;
 
 public class CommandBungee extends Command
 {
@@ -17,5 +20,13 @@ public class CommandBungee extends Command
     public void execute(CommandSender sender, String[] args)
     {
         sender.sendMessage( ChatColor.BLUE + "This server is running BungeeCord version " + ProxyServer.getInstance().getVersion() + " by md_5" );
+
+        String cipher = EncryptionUtil.nativeFactory.getLoadedName();
+        String compressor = CompressFactory.zlib.getLoadedName();
+        sender.sendMessage( ChatColor.BLUE + "Cipher: " + ( ( cipher != null ) ? cipher : "Java" ) + ", compressor: " + ( ( compressor != null ) ? compressor : "Java" ) );
+        if ( cipher != null || compressor != null )
+        {
+            sender.sendMessage( ChatColor.BLUE + "Native platform: " + NativeCode.describePlatform() );
+        }
     }
 }
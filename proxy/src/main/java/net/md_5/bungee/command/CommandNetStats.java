@@ -0,0 +1,44 @@
+package net.md_5.bungee.command;
+
+import net.md_5.bungee.api.ChatColor;
+import net.md_5.bungee.api.CommandSender;
+import net.md_5.bungee.api.plugin.Command;
+import net.md_5.bungee.api.scheduler.PluginExecutorService;
+import net.md_5.bungee.netty.ChannelStatistics;
+
+/**
+ * Command to show how efficiently the proxy is writing to its connections,
+ * and how busy the executors of plugins are.
+ */
+public class CommandNetStats extends Command
+{
+
+    public CommandNetStats()
+    {
+        super( "netstats", "bungeecord.command.netstats" );
+    }
+
+    @Override
+    public void execute(CommandSender sender, String[] args)
+    {
+        sender.sendMessage( ChatColor.BLUE + "Flushes: " + ChatColor.WHITE + ChannelStatistics.getFlushes() );
+        sender.sendMessage( ChatColor.BLUE + "Packets flushed: " + ChatColor.WHITE + ChannelStatistics.getFlushedPackets() );
+        sender.sendMessage( ChatColor.BLUE + "Packets per flush: " + ChatColor.WHITE + String.format( "%.2f", ChannelStatistics.getPacketsPerFlush() ) );
+        sender.sendMessage( ChatColor.BLUE + "Server reads paused: " + ChatColor.WHITE + ChannelStatistics.getThrottles() );
+        sender.sendMessage( ChatColor.BLUE + "Time paused: " + ChatColor.WHITE + ChannelStatistics.getThrottledMillis() + "ms" );
+
+        for ( PluginExecutorService executor : PluginExecutorService.getExecutors() )
+        {
+            StringBuilder line = new StringBuilder();
+            line.append( ChatColor.BLUE ).append( executor.getName() ).append( " tasks: " ).append( ChatColor.WHITE );
+            line.append( executor.getActiveTasks() ).append( " active, " );
+            line.append( executor.getCompletedTasks() ).append( " completed, " );
+            line.append( String.format( "%.2f", executor.getAverageQueueMillis() ) ).append( "ms queued" );
+            if ( executor.isVirtual() )
+            {
+                line.append( ", " ).append( executor.getPinnedEvents() ).append( " pinned" );
+            }
+            sender.sendMessage( line.toString() );
+        }
+    }
+}
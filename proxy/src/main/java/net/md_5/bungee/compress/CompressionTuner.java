@@ -0,0 +1,132 @@
+package net.md_5.bungee.compress;
+
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.FastThreadLocal;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+/**
+ * Adjusts the compression level of each event loop to how busy it is. Once a
+ * second every loop measures the share of time its thread spent on the CPU.
+ * While that is high, the highest level its channels may use is lowered one
+ * step at a time, and while it is low the limit is raised again.
+ * <br>
+ * Channels which cannot keep up with what is written to them are limited by
+ * bandwidth rather than CPU. If no level was configured for them, they are
+ * compressed a little harder, but never above the loop's limit.
+ * <br>
+ * Channels only pick up a new level when the loop's limit is next updated, so
+ * that their compressor is not reconfigured every time they become writable.
+ */
+public final class CompressionTuner implements Runnable
+{
+
+    private static final FastThreadLocal<CompressionTuner> TUNER = new FastThreadLocal<>();
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    //
+    private static final double HIGH_LOAD = 0.75;
+    private static final double LOW_LOAD = 0.5;
+    private static final int MIN_LEVEL = Deflater.BEST_SPEED;
+    private static final int DEFAULT_LEVEL = 6;
+    private static final int BACKLOG_STEP = 2;
+    //
+    private int maxLevel = Deflater.BEST_COMPRESSION;
+    private int ticks;
+    private long lastCpuTime = THREADS.getCurrentThreadCpuTime();
+    private long lastTime = System.nanoTime();
+
+    /**
+     * Start tuning every loop of the group. Does nothing if the JVM cannot
+     * measure thread CPU time.
+     *
+     * @param group the event loops to tune
+     */
+    public static void start(EventLoopGroup group)
+    {
+        if ( !THREADS.isCurrentThreadCpuTimeSupported() )
+        {
+            return;
+        }
+        if ( !THREADS.isThreadCpuTimeEnabled() )
+        {
+            THREADS.setThreadCpuTimeEnabled( true );
+        }
+
+        for ( EventExecutor loop : group )
+        {
+            loop.execute( () ->
+            {
+                CompressionTuner tuner = new CompressionTuner();
+                TUNER.set( tuner );
+                loop.scheduleAtFixedRate( tuner, 1, 1, TimeUnit.SECONDS );
+            } );
+        }
+    }
+
+    /**
+     * Get how often the limit of the current event loop has been updated, so
+     * that channels can tell when to {@link #adjust(Channel, int)} their
+     * level again.
+     *
+     * @return the number of updates, or 0 if the loop is not being tuned
+     */
+    public static int ticks()
+    {
+        CompressionTuner tuner = TUNER.getIfExists();
+        return ( tuner == null ) ? 0 : tuner.ticks;
+    }
+
+    /**
+     * Get the level a channel should currently be compressed with. Must be
+     * called from the channel's event loop.
+     *
+     * @param channel the channel being written to
+     * @param level the configured level
+     * @return the level to use
+     */
+    public static int adjust(Channel channel, int level)
+    {
+        CompressionTuner tuner = TUNER.getIfExists();
+        if ( tuner == null )
+        {
+            return level;
+        }
+
+        int wanted;
+        if ( level != Deflater.DEFAULT_COMPRESSION )
+        {
+            wanted = level;
+        } else if ( !channel.isWritable() )
+        {
+            wanted = DEFAULT_LEVEL + BACKLOG_STEP;
+        } else
+        {
+            wanted = DEFAULT_LEVEL;
+        }
+
+        return Math.min( wanted, tuner.maxLevel );
+    }
+
+    @Override
+    public void run()
+    {
+        long cpuTime = THREADS.getCurrentThreadCpuTime();
+        long time = System.nanoTime();
+        double load = (double) ( cpuTime - lastCpuTime ) / ( time - lastTime );
+        lastCpuTime = cpuTime;
+        lastTime = time;
+        ticks++;
+
+        if ( load > HIGH_LOAD && maxLevel > MIN_LEVEL )
+        {
+            maxLevel--;
+        } else if ( load < LOW_LOAD && maxLevel < Deflater.BEST_COMPRESSION )
+        {
+            maxLevel++;
+        }
+    }
+}
@@ -2,23 +2,41 @@ package net.md_5.bungee.compress;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.MessageToByteEncoder;
 import java.util.zip.Deflater;
+import lombok.Getter;
 import lombok.Setter;
 import net.md_5.bungee.jni.zlib.BungeeZlib;
 import net.md_5.bungee.protocol.DefinedPacket;
+import net.md_5.bungee.protocol.PacketWrapper;
 
 public class PacketCompressor extends MessageToByteEncoder<ByteBuf>
 {
 
     private final BungeeZlib zlib = CompressFactory.zlib.newInstance();
+    @Getter
     @Setter
     private int threshold = 256;
+    /**
+     * Configured compression level, may be changed at any time.
+     */
+    @Setter
+    private volatile int level = Deflater.DEFAULT_COMPRESSION;
+    /**
+     * Whether to trade compression level against event loop load, see
+     * {@link CompressionTuner}.
+     */
+    @Setter
+    private volatile boolean adaptive;
+    private int currentLevel;
+    private int tunerTicks = -1;
 
     @Override
     public void handlerAdded(ChannelHandlerContext ctx) throws Exception
     {
-        zlib.init( true, Deflater.DEFAULT_COMPRESSION );
+        currentLevel = level;
+        zlib.init( true, currentLevel );
     }
 
     @Override
@@ -27,6 +45,19 @@ public class PacketCompressor extends MessageToByteEncoder<ByteBuf>
         zlib.free();
     }
 
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception
+    {
+        if ( msg instanceof PacketWrapper && ( (PacketWrapper) msg ).isCompressed() )
+        {
+            // Relayed from a server with the same threshold, already in our format
+            ctx.write( ( (PacketWrapper) msg ).buf, promise );
+        } else
+        {
+            super.write( ctx, msg, promise );
+        }
+    }
+
     @Override
     protected void encode(ChannelHandlerContext ctx, ByteBuf msg, ByteBuf out) throws Exception
     {
@@ -39,6 +70,20 @@ public class PacketCompressor extends MessageToByteEncoder<ByteBuf>
         {
             DefinedPacket.writeVarInt( origSize, out );
 
+            int wanted = currentLevel;
+            if ( !adaptive )
+            {
+                wanted = level;
+            } else if ( tunerTicks != CompressionTuner.ticks() )
+            {
+                tunerTicks = CompressionTuner.ticks();
+                wanted = CompressionTuner.adjust( ctx.channel(), level );
+            }
+            if ( wanted != currentLevel )
+            {
+                currentLevel = wanted;
+                zlib.setLevel( currentLevel );
+            }
             zlib.process( msg, out );
         }
     }
@@ -5,13 +5,67 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToMessageDecoder;
 import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntPredicate;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import lombok.Setter;
 import net.md_5.bungee.jni.zlib.BungeeZlib;
 import net.md_5.bungee.protocol.DefinedPacket;
+import net.md_5.bungee.protocol.OverflowPacketException;
+import net.md_5.bungee.protocol.PacketWrapper;
+import net.md_5.bungee.protocol.Protocol;
 
 public class PacketDecompressor extends MessageToMessageDecoder<ByteBuf>
 {
 
+    /**
+     * Compressed bytes fed to the inflater to read a packet id. The block
+     * header in front of the first symbol will almost always fit.
+     */
+    private static final int PEEK_INPUT = 512;
+    /**
+     * Smallest decompressed size worth peeking at. A packet which is not
+     * passed through is inflated twice up to its id, which only pays off when
+     * relaying saves decompressing and compressing a larger body.
+     */
+    static final int PEEK_MIN_SIZE = 4096;
+    /**
+     * Largest decompressed packet the vanilla client and server accept.
+     */
+    public static final int DEFAULT_MAX_SIZE = 8 * 1024 * 1024;
+
     private final BungeeZlib zlib = CompressFactory.zlib.newInstance();
+    /**
+     * Whether any packet may be relayed right now, checked before peeking so
+     * that nothing is inflated twice while passthrough cannot apply.
+     */
+    private BooleanSupplier passthroughActive;
+    /**
+     * Decides by packet id which compressed packets are relayed as they are,
+     * without being decompressed. Null to decompress everything.
+     */
+    private IntPredicate passthrough;
+    /**
+     * Largest decompressed size a packet may declare.
+     */
+    @Setter
+    private int maxSize = DEFAULT_MAX_SIZE;
+    private Inflater peekInflater;
+    private byte[] peekInput;
+    private byte[] peekOutput;
+
+    /**
+     * Relay compressed packets as they are instead of decompressing them.
+     *
+     * @param active whether passthrough currently applies at all
+     * @param passthrough decides by packet id, or null to decompress everything
+     */
+    public void setPassthrough(BooleanSupplier active, IntPredicate passthrough)
+    {
+        this.passthroughActive = active;
+        this.passthrough = passthrough;
+    }
 
     @Override
     public void handlerAdded(ChannelHandlerContext ctx) throws Exception
@@ -23,18 +77,35 @@ public class PacketDecompressor extends MessageToMessageDecoder<ByteBuf>
     public void handlerRemoved(ChannelHandlerContext ctx) throws Exception
     {
         zlib.free();
+        if ( peekInflater != null )
+        {
+            peekInflater.end();
+        }
     }
 
     @Override
     protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception
     {
+        int start = in.readerIndex();
         int size = DefinedPacket.readVarInt( in );
         if ( size == 0 )
         {
             out.add( in.retain() );
+        } else if ( passthrough != null && size >= PEEK_MIN_SIZE && passthroughActive.getAsBoolean() && isPassthrough( in ) )
+        {
+            in.readerIndex( start );
+            PacketWrapper packet = new PacketWrapper( null, in.retain(), Protocol.GAME );
+            packet.setCompressed( true );
+            out.add( packet );
         } else
         {
-            ByteBuf decompressed = ctx.alloc().directBuffer();
+            if ( size < 0 || size > maxSize )
+            {
+                throw new OverflowPacketException( "Decompressed packet size of " + size + " is larger than the maximum of " + maxSize );
+            }
+
+            // One spare byte so that inflating past the declared size is detected rather than truncated
+            ByteBuf decompressed = ctx.alloc().directBuffer( size, size + 1 );
 
             try
             {
@@ -52,4 +123,44 @@ public class PacketDecompressor extends MessageToMessageDecoder<ByteBuf>
             }
         }
     }
+
+    /**
+     * Inflate only as much of a compressed packet as is needed to read its id,
+     * and check whether it may be relayed without decompressing it.
+     *
+     * @param in the compressed packet, not consumed
+     * @return whether to pass the packet through
+     */
+    private boolean isPassthrough(ByteBuf in) throws DataFormatException
+    {
+        if ( peekInflater == null )
+        {
+            peekInflater = new Inflater();
+            peekInput = new byte[ PEEK_INPUT ];
+            peekOutput = new byte[ 3 ];
+        }
+
+        int length = Math.min( in.readableBytes(), PEEK_INPUT );
+        in.getBytes( in.readerIndex(), peekInput, 0, length );
+        try
+        {
+            peekInflater.setInput( peekInput, 0, length );
+            int read = peekInflater.inflate( peekOutput );
+
+            int packetId = 0;
+            for ( int i = 0; i < read; i++ )
+            {
+                packetId |= ( peekOutput[i] & 0x7F ) << ( i * 7 );
+                if ( ( peekOutput[i] & 0x80 ) == 0 )
+                {
+                    return passthrough.test( packetId );
+                }
+            }
+            // Id not within the inflated bytes, decompress as usual
+            return false;
+        } finally
+        {
+            peekInflater.reset();
+        }
+    }
 }
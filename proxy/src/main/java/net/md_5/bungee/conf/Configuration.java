@@ -17,6 +17,7 @@ import net.md_5.bungee.api.ProxyServer;
 import net.md_5.bungee.api.config.ConfigurationAdapter;
 import net.md_5.bungee.api.config.ListenerInfo;
 import net.md_5.bungee.api.config.ServerInfo;
+import net.md_5.bungee.compress.PacketDecompressor;
 import net.md_5.bungee.util.CaseInsensitiveMap;
 import net.md_5.bungee.util.CaseInsensitiveSet;
 
@@ -57,6 +58,24 @@ public class Configuration implements ProxyConfig
     private boolean logCommands;
     private boolean logPings = true;
     private int remotePingCache = -1;
+    /**
+     * Whether cached pings of servers which are still being pinged are
+     * refreshed in the background before they expire.
+     */
+    private boolean remotePingRefresh;
+    /**
+     * How long in milliseconds the response to a status ping is reused for
+     * the same listener, forced server and version. Reused responses are sent
+     * without calling ProxyPingEvent, so plugins which change the response
+     * for each connection only see the first ping. Values of 0 or less
+     * disable this.
+     */
+    private int statusCache;
+    /**
+     * How far the number of players online may change before a cached status
+     * response is no longer reused.
+     */
+    private int statusCachePlayerChange;
     private int playerLimit = -1;
     private Collection<String> disabledCommands;
     private int serverConnectTimeout = 5000;
@@ -69,6 +88,41 @@ public class Configuration implements ProxyConfig
     private boolean preventProxyConnections;
     private boolean forgeSupport;
     private boolean rejectTransfers;
+    /**
+     * Maximum number of packets relayed from one connection to its pair
+     * before they are flushed, rather than once per packet. Values of 1 or
+     * less disable this.
+     */
+    private int maxPacketsPerFlush = 64;
+    /**
+     * Zlib compression level used for connections to servers, from 0 to 9, or
+     * -1 for the zlib default. Servers may override it with their own
+     * compression_level.
+     */
+    private int serverCompressionLevel = -1;
+    /**
+     * Whether to lower the compression level of busy event loops, see
+     * {@link net.md_5.bungee.compress.CompressionTuner}.
+     */
+    private boolean adaptiveCompression;
+    /**
+     * Whether compressed packets which the proxy does not need to look at are
+     * relayed to players without decompressing and compressing them again.
+     * Off by default, as packets which are not relayed are partly inflated
+     * twice to find their id.
+     */
+    private boolean compressedPassthrough;
+    /**
+     * Largest size a compressed packet may declare for its decompressed data.
+     * Larger packets are rejected before any memory is allocated for them.
+     */
+    private int maxDecompressedPacketSize = PacketDecompressor.DEFAULT_MAX_SIZE;
+    /**
+     * Whether players older than 1.16 are sent a new login when switching
+     * servers, like newer versions are, so that their entity id matches the
+     * server's and entity ids do not need to be rewritten.
+     */
+    private boolean syncEntityIds;
 
     public void load()
     {
@@ -95,6 +149,9 @@ public class Configuration implements ProxyConfig
         logCommands = adapter.getBoolean( "log_commands", logCommands );
         logPings = adapter.getBoolean( "log_pings", logPings );
         remotePingCache = adapter.getInt( "remote_ping_cache", remotePingCache );
+        remotePingRefresh = adapter.getBoolean( "remote_ping_refresh", remotePingRefresh );
+        statusCache = adapter.getInt( "status_cache", statusCache );
+        statusCachePlayerChange = adapter.getInt( "status_cache_player_change", statusCachePlayerChange );
         playerLimit = adapter.getInt( "player_limit", playerLimit );
         serverConnectTimeout = adapter.getInt( "server_connect_timeout", serverConnectTimeout );
         remotePingTimeout = adapter.getInt( "remote_ping_timeout", remotePingTimeout );
@@ -105,6 +162,12 @@ public class Configuration implements ProxyConfig
         preventProxyConnections = adapter.getBoolean( "prevent_proxy_connections", preventProxyConnections );
         forgeSupport = adapter.getBoolean( "forge_support", forgeSupport );
         rejectTransfers = adapter.getBoolean( "reject_transfers", rejectTransfers );
+        maxPacketsPerFlush = adapter.getInt( "max_packets_per_flush", maxPacketsPerFlush );
+        serverCompressionLevel = adapter.getInt( "server_compression_level", serverCompressionLevel );
+        adaptiveCompression = adapter.getBoolean( "adaptive_compression", adaptiveCompression );
+        compressedPassthrough = adapter.getBoolean( "compressed_passthrough", compressedPassthrough );
+        maxDecompressedPacketSize = adapter.getInt( "max_decompressed_packet_size", maxDecompressedPacketSize );
+        syncEntityIds = adapter.getBoolean( "sync_entity_ids", syncEntityIds );
 
         disabledCommands = new CaseInsensitiveSet( (Collection<String>) adapter.getList( "disabled_commands", Arrays.asList( "disabledcommandhere" ) ) );
 
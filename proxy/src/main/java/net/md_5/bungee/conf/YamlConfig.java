@@ -22,6 +22,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.logging.Level;
 import lombok.RequiredArgsConstructor;
+import net.md_5.bungee.BungeeServerInfo;
 import net.md_5.bungee.Util;
 import net.md_5.bungee.api.ChatColor;
 import net.md_5.bungee.api.ProxyServer;
@@ -95,7 +96,7 @@ public class YamlConfig implements ConfigurationAdapter
             } ) );
             set( "permissions.admin", Arrays.asList( new String[]
             {
-                "bungeecord.command.alert", "bungeecord.command.end", "bungeecord.command.ip", "bungeecord.command.reload", "bungeecord.command.kick"
+                "bungeecord.command.alert", "bungeecord.command.end", "bungeecord.command.ip", "bungeecord.command.reload", "bungeecord.command.kick", "bungeecord.command.netstats"
             } ) );
         }
 
@@ -219,7 +220,12 @@ public class YamlConfig implements ConfigurationAdapter
             String motd = ChatColor.translateAlternateColorCodes( '&', get( "motd", "&1Just another BungeeCord - Forced Host", val ) );
             boolean restricted = get( "restricted", false, val );
             SocketAddress address = Util.getAddr( addr );
+            int compressionLevel = get( "compression_level", getInt( "server_compression_level", -1 ), val );
             ServerInfo info = ProxyServer.getInstance().constructServerInfo( name, address, motd, restricted );
+            if ( info instanceof BungeeServerInfo )
+            {
+                ( (BungeeServerInfo) info ).setCompressionLevel( compressionLevel );
+            }
             ret.put( name, info );
         }
 
@@ -264,6 +270,8 @@ public class YamlConfig implements ConfigurationAdapter
             int queryPort = get( "query_port", 25577, val );
 
             boolean proxyProtocol = get( "proxy_protocol", false, val );
+            int compressionThreshold = get( "compression_threshold", getInt( "network_compression_threshold", 256 ), val );
+            int compressionLevel = get( "compression_level", -1, val );
             List<String> serverPriority = new ArrayList<>( get( "priorities", Collections.EMPTY_LIST, val ) );
 
             // Default server list migration
@@ -288,7 +296,7 @@ public class YamlConfig implements ConfigurationAdapter
             }
             set( "priorities", serverPriority, val );
 
-            ListenerInfo info = new ListenerInfo( address, motd, maxPlayers, tabListSize, serverPriority, forceDefault, forced, value.toString(), setLocalAddress, pingPassthrough, queryPort, query, proxyProtocol );
+            ListenerInfo info = new ListenerInfo( address, motd, maxPlayers, tabListSize, serverPriority, forceDefault, forced, value.toString(), setLocalAddress, pingPassthrough, queryPort, query, proxyProtocol, compressionThreshold, compressionLevel );
             ret.add( info );
         }
 
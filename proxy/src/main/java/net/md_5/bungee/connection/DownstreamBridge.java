@@ -24,6 +24,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import net.md_5.bungee.BungeeCord;
 import net.md_5.bungee.ServerConnection;
 import net.md_5.bungee.ServerConnection.KeepAliveData;
 import net.md_5.bungee.ServerConnector;
@@ -47,6 +48,7 @@ import net.md_5.bungee.api.score.Score;
 import net.md_5.bungee.api.score.Scoreboard;
 import net.md_5.bungee.api.score.Team;
 import net.md_5.bungee.chat.ComponentSerializer;
+import net.md_5.bungee.compress.PacketDecompressor;
 import net.md_5.bungee.entitymap.EntityMap;
 import net.md_5.bungee.netty.ChannelWrapper;
 import net.md_5.bungee.netty.PacketHandler;
@@ -147,11 +149,48 @@ public class DownstreamBridge extends PacketHandler
         return !server.isObsolete();
     }
 
+    @Override
+    public ChannelWrapper getRelayChannel()
+    {
+        return con.getCh();
+    }
+
+    /**
+     * Let the server's decompressor relay packets which are compressed with the
+     * same threshold as used for the client, and which neither this bridge nor
+     * the entity map need to look at, without decompressing them.
+     */
+    public void updateCompressedPassthrough()
+    {
+        PacketDecompressor decompressor = server.getCh().getHandle().pipeline().get( PacketDecompressor.class );
+        if ( decompressor != null )
+        {
+            boolean enabled = BungeeCord.getInstance().config.isCompressedPassthrough()
+                    && con.getCompressionThreshold() >= 0 && con.getCompressionThreshold() == server.getCh().getCompressionThreshold();
+            decompressor.setPassthrough( this::isPassthroughActive, ( enabled ) ? this::isPassthrough : null );
+        }
+    }
+
+    private boolean isPassthroughActive()
+    {
+        return server.getCh().getDecodeProtocol() == Protocol.GAME && con.getCh().getEncodeProtocol() == Protocol.GAME;
+    }
+
+    private boolean isPassthrough(int packetId)
+    {
+        int version = con.getPendingConnection().getVersion();
+        EntityMap rewrite = con.getEntityRewrite();
+
+        return !Protocol.GAME.TO_CLIENT.hasPacket( packetId, version )
+                && ( rewrite == null || !rewrite.isRewrittenClientbound( packetId, con.getServerEntityId(), con.getClientEntityId() ) );
+    }
+
     @Override
     public void handle(PacketWrapper packet) throws Exception
     {
         EntityMap rewrite = con.getEntityRewrite();
-        if ( rewrite != null && con.getCh().getEncodeProtocol() == Protocol.GAME )
+        if ( rewrite != null && !packet.isCompressed() && con.getCh().getEncodeProtocol() == Protocol.GAME
+                && rewrite.needsRewrite( packet.buf, ProtocolConstants.Direction.TO_CLIENT, con.getServerEntityId(), con.getClientEntityId() ) )
         {
             rewrite.rewriteClientbound( packet.buf, con.getServerEntityId(), con.getClientEntityId(), con.getPendingConnection().getVersion() );
         }
@@ -308,11 +347,13 @@ public class DownstreamBridge extends PacketHandler
     public void handle(PluginMessage pluginMessage) throws Exception
     {
         DataInput in = pluginMessage.getStream();
-        PluginMessageEvent event = new PluginMessageEvent( server, con, pluginMessage.getTag(), pluginMessage.getData().clone() );
-
-        if ( bungee.getPluginManager().callEvent( event ).isCancelled() )
+        if ( bungee.getPluginManager().hasListeners( PluginMessageEvent.class ) )
         {
-            throw CancelSendSignal.INSTANCE;
+            PluginMessageEvent event = new PluginMessageEvent( server, con, pluginMessage.getTag(), pluginMessage.getData().clone() );
+            if ( bungee.getPluginManager().callEvent( event ).isCancelled() )
+            {
+                throw CancelSendSignal.INSTANCE;
+            }
         }
 
         if ( pluginMessage.getTag().equals( con.getPendingConnection().getVersion() >= ProtocolConstants.MINECRAFT_1_13 ? "minecraft:brand" : "MC|Brand" ) )
@@ -663,7 +704,8 @@ public class DownstreamBridge extends PacketHandler
     @Override
     public void handle(SetCompression setCompression) throws Exception
     {
-        server.getCh().setCompressionThreshold( setCompression.getThreshold() );
+        server.getCh().setCompressionThreshold( setCompression.getThreshold(), server.getInfo().getCompressionLevel(), BungeeCord.getInstance().config.isAdaptiveCompression() );
+        updateCompressedPassthrough();
     }
 
     @Override
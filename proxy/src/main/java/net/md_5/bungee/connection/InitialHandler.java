@@ -81,6 +81,8 @@ import net.md_5.bungee.util.QuietException;
 public class InitialHandler extends PacketHandler implements PendingConnection
 {
 
+    private static final StatusCache STATUS_CACHE = new StatusCache();
+    //
     private final BungeeCord bungee;
     private ChannelWrapper ch;
     @Getter
@@ -285,10 +287,29 @@ public class InitialHandler extends PacketHandler implements PendingConnection
         final String motd = ( forced != null ) ? forced.getMotd() : listener.getMotd();
         final int protocol = ( ProtocolConstants.SUPPORTED_VERSION_IDS.contains( handshake.getProtocolVersion() ) ) ? handshake.getProtocolVersion() : bungee.getProtocolVersion();
 
+        // Cached responses include what plugins made of them, but do not call ProxyPingEvent again
+        final int statusCache = bungee.config.getStatusCache();
+        final StatusCache.Key cacheKey = new StatusCache.Key( listener.getSocketAddress(), ( forced != null ) ? forced.getName() : null, protocol );
+        if ( statusCache > 0 )
+        {
+            DefinedPacket cached = STATUS_CACHE.get( cacheKey, bungee.getOnlineCount(), bungee.config.getStatusCachePlayerChange() );
+            if ( cached != null )
+            {
+                unsafe.sendPacket( cached );
+                if ( bungee.getConnectionThrottle() != null )
+                {
+                    bungee.getConnectionThrottle().unthrottle( getSocketAddress() );
+                }
+
+                thisState = State.PING;
+                return;
+            }
+        }
+
         Callback<ServerPing> pingBack = new Callback<ServerPing>()
         {
             @Override
-            public void done(ServerPing result, Throwable error)
+            public void done(ServerPing result, final Throwable error)
             {
                 if ( error != null )
                 {
@@ -296,13 +317,20 @@ public class InitialHandler extends PacketHandler implements PendingConnection
                     bungee.getLogger().log( Level.WARNING, "Error pinging remote server", error );
                 }
 
+                final int online = bungee.getOnlineCount();
                 Callback<ProxyPingEvent> callback = new Callback<ProxyPingEvent>()
                 {
                     @Override
-                    public void done(ProxyPingEvent pingResult, Throwable error)
+                    public void done(ProxyPingEvent pingResult, Throwable eventError)
                     {
                         Gson gson = BungeeCord.getInstance().gson;
-                        unsafe.sendPacket( new StatusResponse( gson.toJson( pingResult.getResponse() ) ) );
+                        StatusResponse response = new StatusResponse( gson.toJson( pingResult.getResponse() ) );
+                        if ( statusCache > 0 && error == null )
+                        {
+                            STATUS_CACHE.put( cacheKey, online, response, statusCache );
+                        }
+
+                        unsafe.sendPacket( response );
                         if ( bungee.getConnectionThrottle() != null )
                         {
                             bungee.getConnectionThrottle().unthrottle( getSocketAddress() );
@@ -634,7 +662,7 @@ public class InitialHandler extends PacketHandler implements PendingConnection
                         if ( !ch.isClosing() )
                         {
                             userCon = new UserConnection( bungee, ch, getName(), InitialHandler.this );
-                            userCon.setCompressionThreshold( BungeeCord.getInstance().config.getCompressionThreshold() );
+                            userCon.setCompressionThreshold( ( listener.getCompressionThreshold() == ListenerInfo.NETWORK_COMPRESSION_THRESHOLD ) ? bungee.config.getCompressionThreshold() : listener.getCompressionThreshold() );
 
                             if ( getVersion() < ProtocolConstants.MINECRAFT_1_20_2 )
                             {
@@ -4,7 +4,6 @@ import com.google.gson.Gson;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import lombok.RequiredArgsConstructor;
 import net.md_5.bungee.BungeeCord;
-import net.md_5.bungee.BungeeServerInfo;
 import net.md_5.bungee.api.Callback;
 import net.md_5.bungee.api.ProxyServer;
 import net.md_5.bungee.api.ServerPing;
@@ -30,6 +29,7 @@ public class PingHandler extends PacketHandler
     private final Callback<ServerPing> callback;
     private final int protocol;
     private ChannelWrapper channel;
+    private boolean done;
 
     @Override
     public void connected(ChannelWrapper channel) throws Exception
@@ -49,7 +49,18 @@ public class PingHandler extends PacketHandler
     @Override
     public void exception(Throwable t) throws Exception
     {
-        callback.done( null, t );
+        if ( !done )
+        {
+            done = true;
+            callback.done( null, t );
+        }
+    }
+
+    @Override
+    public void disconnected(ChannelWrapper channel) throws Exception
+    {
+        // Others may be waiting for this ping too, so always report back
+        exception( new QuietException( "Server closed the connection before responding to the ping" ) );
     }
 
     @Override
@@ -67,7 +78,7 @@ public class PingHandler extends PacketHandler
     {
         Gson gson = BungeeCord.getInstance().gson;
         ServerPing serverPing = gson.fromJson( statusResponse.getResponse(), ServerPing.class );
-        ( (BungeeServerInfo) target ).cachePing( serverPing );
+        done = true;
         callback.done( serverPing, null );
         channel.close();
     }
@@ -0,0 +1,115 @@
+package net.md_5.bungee.connection;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import java.net.SocketAddress;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import net.md_5.bungee.protocol.DefinedPacket;
+import net.md_5.bungee.protocol.PreEncodedPacket;
+import net.md_5.bungee.protocol.packet.StatusResponse;
+
+/**
+ * Keeps the encoded status response sent for each listener, forced server and
+ * protocol version for a short time, so that repeated pings do not build and
+ * serialize the same response again. An entry is dropped once the number of
+ * players online has changed by more than allowed since it was made.
+ * <br>
+ * When full, expired entries are removed first and then the oldest, so that
+ * pings for many different keys cannot empty the whole cache.
+ */
+final class StatusCache
+{
+
+    static final int MAX_ENTRIES = 1024;
+    //
+    private final Ticker ticker;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    StatusCache()
+    {
+        this( Ticker.systemTicker() );
+    }
+
+    @VisibleForTesting
+    StatusCache(Ticker ticker)
+    {
+        this.ticker = ticker;
+    }
+
+    @Data
+    static final class Key
+    {
+
+        private final SocketAddress listener;
+        private final String server;
+        private final int protocol;
+    }
+
+    @RequiredArgsConstructor
+    private static final class Entry
+    {
+
+        private final DefinedPacket packet;
+        private final int online;
+        private final long expiry;
+    }
+
+    /**
+     * Get the cached response for a ping.
+     *
+     * @param key what the ping was for
+     * @param online the number of players currently online
+     * @param maxPlayerChange how far the number of players may be off
+     * @return the response to send, or null if there is none
+     */
+    DefinedPacket get(Key key, int online, int maxPlayerChange)
+    {
+        Entry entry = entries.get( key );
+        if ( entry == null )
+        {
+            return null;
+        }
+
+        if ( ticker.read() - entry.expiry >= 0 || Math.abs( online - entry.online ) > maxPlayerChange )
+        {
+            entries.remove( key, entry );
+            return null;
+        }
+
+        return entry.packet;
+    }
+
+    /**
+     * Cache the response sent for a ping.
+     *
+     * @param key what the ping was for
+     * @param online the number of players online when it was made
+     * @param response the response
+     * @param ttl how long it may be sent for, in milliseconds
+     */
+    void put(Key key, int online, StatusResponse response, int ttl)
+    {
+        long now = ticker.read();
+        if ( entries.size() >= MAX_ENTRIES && !entries.containsKey( key ) )
+        {
+            evict( now );
+        }
+
+        entries.put( key, new Entry( new PreEncodedPacket( response ), online, now + TimeUnit.MILLISECONDS.toNanos( ttl ) ) );
+    }
+
+    private void evict(long now)
+    {
+        entries.values().removeIf( (entry) -> now - entry.expiry >= 0 );
+        if ( entries.size() >= MAX_ENTRIES )
+        {
+            entries.entrySet().stream().min( Comparator.comparingLong( (entry) -> entry.getValue().expiry - now ) )
+                    .ifPresent( (oldest) -> entries.remove( oldest.getKey(), oldest.getValue() ) );
+        }
+    }
+}
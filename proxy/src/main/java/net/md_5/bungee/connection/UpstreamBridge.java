@@ -23,6 +23,7 @@ import net.md_5.bungee.api.event.SettingsChangedEvent;
 import net.md_5.bungee.api.event.TabCompleteEvent;
 import net.md_5.bungee.entitymap.EntityMap;
 import net.md_5.bungee.forge.ForgeConstants;
+import net.md_5.bungee.netty.ChannelStatistics;
 import net.md_5.bungee.netty.ChannelWrapper;
 import net.md_5.bungee.netty.PacketHandler;
 import net.md_5.bungee.protocol.PacketWrapper;
@@ -50,6 +51,8 @@ public class UpstreamBridge extends PacketHandler
 
     private final ProxyServer bungee;
     private final UserConnection con;
+    // Time at which the client stopped being writable, or 0 if it is writable
+    private long throttledSince;
 
     public UpstreamBridge(ProxyServer bungee, UserConnection con)
     {
@@ -69,6 +72,7 @@ public class UpstreamBridge extends PacketHandler
     public void disconnected(ChannelWrapper channel) throws Exception
     {
         // We lost connection to the client
+        endThrottle();
         PlayerDisconnectEvent event = new PlayerDisconnectEvent( con );
         bungee.getPluginManager().callEvent( event );
         con.getTabListHandler().onDisconnect();
@@ -114,19 +118,39 @@ public class UpstreamBridge extends PacketHandler
     @Override
     public void writabilityChanged(ChannelWrapper channel) throws Exception
     {
+        boolean writable = channel.getHandle().isWritable();
+        if ( writable )
+        {
+            endThrottle();
+        } else if ( throttledSince == 0 )
+        {
+            throttledSince = System.nanoTime();
+            ChannelStatistics.throttleStarted();
+        }
+
         if ( con.getServer() != null )
         {
             Channel server = con.getServer().getCh().getHandle();
-            if ( channel.getHandle().isWritable() )
-            {
-                server.config().setAutoRead( true );
-            } else
-            {
-                server.config().setAutoRead( false );
-            }
+            server.config().setAutoRead( writable );
+        }
+    }
+
+    private void endThrottle()
+    {
+        if ( throttledSince != 0 )
+        {
+            ChannelStatistics.throttleEnded( System.nanoTime() - throttledSince );
+            throttledSince = 0;
         }
     }
 
+    @Override
+    public ChannelWrapper getRelayChannel()
+    {
+        ServerConnection server = con.getServer();
+        return ( server != null ) ? server.getCh() : null;
+    }
+
     @Override
     public boolean shouldHandle(PacketWrapper packet) throws Exception
     {
@@ -147,7 +171,8 @@ public class UpstreamBridge extends PacketHandler
             }
 
             EntityMap rewrite = con.getEntityRewrite();
-            if ( rewrite != null && serverEncode == Protocol.GAME )
+            if ( rewrite != null && serverEncode == Protocol.GAME
+                    && rewrite.needsRewrite( packet.buf, ProtocolConstants.Direction.TO_SERVER, con.getClientEntityId(), con.getServerEntityId() ) )
             {
                 rewrite.rewriteServerbound( packet.buf, con.getClientEntityId(), con.getServerEntityId(), con.getPendingConnection().getVersion() );
             }
@@ -215,14 +240,24 @@ public class UpstreamBridge extends PacketHandler
             }
         }
 
-        ChatEvent chatEvent = new ChatEvent( con, con.getServer(), message );
-        if ( !bungee.getPluginManager().callEvent( chatEvent ).isCancelled() )
+        boolean isCommand;
+        if ( bungee.getPluginManager().hasListeners( ChatEvent.class ) )
         {
-            message = chatEvent.getMessage();
-            if ( !chatEvent.isCommand() || !bungee.getPluginManager().dispatchCommand( con, message.substring( 1 ) ) )
+            ChatEvent chatEvent = new ChatEvent( con, con.getServer(), message );
+            if ( bungee.getPluginManager().callEvent( chatEvent ).isCancelled() )
             {
-                return message;
+                throw CancelSendSignal.INSTANCE;
             }
+            message = chatEvent.getMessage();
+            isCommand = chatEvent.isCommand();
+        } else
+        {
+            isCommand = message.length() > 0 && message.charAt( 0 ) == '/';
+        }
+
+        if ( !isCommand || !bungee.getPluginManager().dispatchCommand( con, message.substring( 1 ) ) )
+        {
+            return message;
         }
         throw CancelSendSignal.INSTANCE;
     }
@@ -239,15 +274,19 @@ public class UpstreamBridge extends PacketHandler
             isRegisteredCommand = bungee.getPluginManager().dispatchCommand( con, tabComplete.getCursor().substring( 1 ), suggestions );
         }
 
-        TabCompleteEvent tabCompleteEvent = new TabCompleteEvent( con, con.getServer(), tabComplete.getCursor(), suggestions );
-        bungee.getPluginManager().callEvent( tabCompleteEvent );
-
-        if ( tabCompleteEvent.isCancelled() )
+        List<String> results = suggestions;
+        if ( bungee.getPluginManager().hasListeners( TabCompleteEvent.class ) )
         {
-            throw CancelSendSignal.INSTANCE;
-        }
+            TabCompleteEvent tabCompleteEvent = new TabCompleteEvent( con, con.getServer(), tabComplete.getCursor(), suggestions );
+            bungee.getPluginManager().callEvent( tabCompleteEvent );
 
-        List<String> results = tabCompleteEvent.getSuggestions();
+            if ( tabCompleteEvent.isCancelled() )
+            {
+                throw CancelSendSignal.INSTANCE;
+            }
+
+            results = tabCompleteEvent.getSuggestions();
+        }
         if ( !results.isEmpty() )
         {
             // Unclear how to handle 1.13 commands at this point. Because we don't inject into the command packets we are unlikely to get this far unless
@@ -329,10 +368,13 @@ public class UpstreamBridge extends PacketHandler
             }
         }
 
-        PluginMessageEvent event = new PluginMessageEvent( con, con.getServer(), pluginMessage.getTag(), pluginMessage.getData().clone() );
-        if ( bungee.getPluginManager().callEvent( event ).isCancelled() )
+        if ( bungee.getPluginManager().hasListeners( PluginMessageEvent.class ) )
         {
-            throw CancelSendSignal.INSTANCE;
+            PluginMessageEvent event = new PluginMessageEvent( con, con.getServer(), pluginMessage.getTag(), pluginMessage.getData().clone() );
+            if ( bungee.getPluginManager().callEvent( event ).isCancelled() )
+            {
+                throw CancelSendSignal.INSTANCE;
+            }
         }
 
         con.getPendingConnection().relayMessage( pluginMessage );
@@ -1,6 +1,5 @@
 package net.md_5.bungee.entitymap;
 
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
 import java.io.DataInputStream;
@@ -18,11 +17,16 @@ import se.llbit.nbt.Tag;
 public abstract class EntityMap
 {
 
-    private final boolean[] clientboundInts = new boolean[ 256 ];
-    private final boolean[] clientboundVarInts = new boolean[ 256 ];
-
-    private final boolean[] serverboundInts = new boolean[ 256 ];
-    private final boolean[] serverboundVarInts = new boolean[ 256 ];
+    private static final byte REWRITE_INT = 1;
+    private static final byte REWRITE_VARINT = 2;
+    // Direct Unsafe copies are made in ascending 1 MiB chunks, which breaks overlapping moves beyond that
+    private static final int MAX_IN_PLACE_SHIFT = 1 << 20;
+    //
+    private final byte[] clientboundRewrites = new byte[ 256 ];
+    private final byte[] serverboundRewrites = new byte[ 256 ];
+    // Packets carrying a player UUID, which is rewritten even when entity ids are not
+    private int clientboundUuidPacket = -1;
+    private int serverboundUuidPacket = -1;
 
     // Returns the correct entity map for the protocol version
     public static EntityMap getEntityMap(int version)
@@ -93,29 +97,97 @@ public abstract class EntityMap
         throw new RuntimeException( "Version " + version + " has no entity map" );
     }
 
-    protected void addRewrite(int id, ProtocolConstants.Direction direction, boolean varint)
+    /**
+     * Returns whether every rewrite performed by this map leaves the packet at
+     * its original length, in which case packets can be rewritten directly
+     * within their inbound buffer without copying them first.
+     *
+     * @return if this map never resizes a packet
+     */
+    public boolean isLengthPreserving()
     {
-        if ( direction == ProtocolConstants.Direction.TO_CLIENT )
+        return false;
+    }
+
+    /**
+     * Returns whether a clientbound packet with the given id may be changed by
+     * this map. Packets which are not can be relayed without being looked at.
+     *
+     * @param packetId the id of the packet
+     * @return if the packet may be rewritten
+     */
+    public boolean isRewrittenClientbound(int packetId)
+    {
+        // Older maps have special cases for a number of packets
+        return true;
+    }
+
+    /**
+     * Returns whether a clientbound packet with the given id may be changed by
+     * this map while relaying it with the given entity ids. If both are the
+     * same, only player UUIDs can need rewriting.
+     *
+     * @param packetId the id of the packet
+     * @param oldId the entity id of the server
+     * @param newId the entity id of the client
+     * @return if the packet may be rewritten
+     */
+    public boolean isRewrittenClientbound(int packetId, int oldId, int newId)
+    {
+        return ( oldId != newId ) ? isRewrittenClientbound( packetId ) : packetId == clientboundUuidPacket;
+    }
+
+    /**
+     * Returns whether a packet needs to be passed to this map at all, so that
+     * packets can be relayed untouched while client and server share the same
+     * entity id.
+     *
+     * @param packet the packet, with the reader index at its id
+     * @param direction the direction the packet is sent in
+     * @param oldId the id which would be replaced
+     * @param newId the id it would be replaced with
+     * @return if the packet may be rewritten
+     */
+    public boolean needsRewrite(ByteBuf packet, ProtocolConstants.Direction direction, int oldId, int newId)
+    {
+        if ( oldId != newId )
         {
-            if ( varint )
-            {
-                clientboundVarInts[id] = true;
-            } else
-            {
-                clientboundInts[id] = true;
-            }
-        } else if ( varint )
+            return true;
+        }
+
+        int uuidPacket = ( direction == ProtocolConstants.Direction.TO_CLIENT ) ? clientboundUuidPacket : serverboundUuidPacket;
+        if ( uuidPacket < 0 )
+        {
+            return false;
+        }
+
+        int readerIndex = packet.readerIndex();
+        int packetId = DefinedPacket.readVarInt( packet );
+        packet.readerIndex( readerIndex );
+
+        return packetId == uuidPacket;
+    }
+
+    protected void addUuidRewrite(int id, ProtocolConstants.Direction direction)
+    {
+        if ( direction == ProtocolConstants.Direction.TO_CLIENT )
         {
-            serverboundVarInts[id] = true;
+            clientboundUuidPacket = id;
         } else
         {
-            serverboundInts[id] = true;
+            serverboundUuidPacket = id;
         }
     }
 
+    protected void addRewrite(int id, ProtocolConstants.Direction direction, boolean varint)
+    {
+        byte[] rewrites = ( direction == ProtocolConstants.Direction.TO_CLIENT ) ? clientboundRewrites : serverboundRewrites;
+        rewrites[id] = ( varint ) ? REWRITE_VARINT : REWRITE_INT;
+    }
+
     public void rewriteServerbound(ByteBuf packet, int oldId, int newId)
     {
-        rewrite( packet, new WriteObject(oldId, newId, serverboundInts, serverboundVarInts ));
+        rewrite( packet, oldId, newId, serverboundRewrites );
     }
 
     public void rewriteServerbound(ByteBuf packet, int oldId, int newId, int protocolVersion)
@@ -125,7 +197,7 @@ public abstract class EntityMap
 
     public void rewriteClientbound(ByteBuf packet, int oldId, int newId)
     {
-        rewrite( packet, new WriteObject(oldId, newId, clientboundInts, clientboundVarInts) );
+        rewrite( packet, oldId, newId, clientboundRewrites );
     }
 
     public void rewriteClientbound(ByteBuf packet, int oldId, int newId, int protocolVersion)
@@ -145,23 +217,84 @@ public abstract class EntityMap
         }
     }
 
-    @SuppressFBWarnings("DLS_DEAD_LOCAL_STORE")
     protected static void rewriteVarInt(ByteBuf packet, int oldId, int newId, int offset)
     {
-        // Need to rewrite the packet because VarInts are variable length
         int readId = DefinedPacket.readVarInt( packet );
         int readIdLength = packet.readerIndex() - offset;
         if ( readId == oldId || readId == newId )
         {
-            ByteBuf data = packet.copy();
+            int writeId = ( readId == oldId ) ? newId : oldId;
+            int shift = varIntSize( writeId ) - readIdLength;
+            int tail = packet.readableBytes();
+            if ( shift != 0 && tail > MAX_IN_PLACE_SHIFT )
+            {
+                ByteBuf data = packet.copy();
+                packet.readerIndex( offset );
+                packet.writerIndex( offset );
+                DefinedPacket.writeVarInt( writeId, packet );
+                packet.writeBytes( data );
+                data.release();
+            } else
+            {
+                packet.readerIndex( offset );
+                // VarInts are variable length, so move the rest of the packet if the width changed
+                if ( shift != 0 )
+                {
+                    packet.ensureWritable( Math.max( shift, 0 ) );
+                    packet.setBytes( offset + readIdLength + shift, packet, offset + readIdLength, tail );
+                    packet.writerIndex( packet.writerIndex() + shift );
+                }
+
+                int writerIndex = packet.writerIndex();
+                packet.writerIndex( offset );
+                DefinedPacket.writeVarInt( writeId, packet );
+                packet.writerIndex( writerIndex );
+            }
             packet.readerIndex( offset );
-            packet.writerIndex( offset );
-            DefinedPacket.writeVarInt( readId == oldId ? newId : oldId, packet );
-            packet.writeBytes( data );
-            data.release();
         }
     }
 
+    /**
+     * Rewrite every entity id of a VarInt prefixed VarInt array, starting at
+     * the reader index of the packet.
+     *
+     * @param packet the packet to rewrite
+     * @param oldId the id to replace
+     * @param newId the id to replace it with
+     */
+    protected static void rewriteVarIntArray(ByteBuf packet, int oldId, int newId)
+    {
+        int count = DefinedPacket.readVarInt( packet );
+        for ( int i = 0; i < count; i++ )
+        {
+            int position = packet.readerIndex();
+            rewriteVarInt( packet, oldId, newId, position );
+            packet.readerIndex( position );
+            DefinedPacket.readVarInt( packet );
+        }
+    }
+
+    private static int varIntSize(int value)
+    {
+        if ( ( value & 0xFFFFFF80 ) == 0 )
+        {
+            return 1;
+        }
+        if ( ( value & 0xFFFFC000 ) == 0 )
+        {
+            return 2;
+        }
+        if ( ( value & 0xFFE00000 ) == 0 )
+        {
+            return 3;
+        }
+        if ( ( value & 0xF0000000 ) == 0 )
+        {
+            return 4;
+        }
+        return 5;
+    }
+
     protected static void rewriteMetaVarInt(ByteBuf packet, int oldId, int newId, int metaIndex)
     {
         rewriteMetaVarInt( packet, oldId, newId, metaIndex, -1 );
@@ -336,31 +469,23 @@ public abstract class EntityMap
         }
     }
 
-    private class WriteObject {
-        public int oldId;
-        public int newId;
-        public boolean[] ints;
-        public boolean[] varints;
-        public WriteObject(int oldID, int newId, boolean[] ints, boolean[] varints) {
-            this.oldId = oldID;
-            this.newId = newId;
-            this.ints = ints;
-            this.varints = varints;
-        }
-    }
     // Handles simple packets
-    private static void rewrite(ByteBuf packet, WriteObject writeObject)
+    private static void rewrite(ByteBuf packet, int oldId, int newId, byte[] rewrites)
     {
         int readerIndex = packet.readerIndex();
         int packetId = DefinedPacket.readVarInt( packet );
-        int packetIdLength = packet.readerIndex() - readerIndex;
 
-        if ( writeObject.ints[packetId] )
-        {
-            rewriteInt( packet, writeObject.oldId, writeObject.newId, readerIndex + packetIdLength );
-        } else if ( writeObject.varints[packetId] )
+        if ( packetId >= 0 && packetId < rewrites.length )
         {
-            rewriteVarInt( packet, writeObject.oldId, writeObject.newId, readerIndex + packetIdLength );
+            switch ( rewrites[packetId] )
+            {
+                case REWRITE_INT:
+                    rewriteInt( packet, oldId, newId, packet.readerIndex() );
+                    break;
+                case REWRITE_VARINT:
+                    rewriteVarInt( packet, oldId, newId, packet.readerIndex() );
+                    break;
+            }
         }
         packet.readerIndex( readerIndex );
     }
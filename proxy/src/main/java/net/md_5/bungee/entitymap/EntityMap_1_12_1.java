@@ -44,6 +44,9 @@ class EntityMap_1_12_1 extends EntityMap
 
         addRewrite( 0x0A, ProtocolConstants.Direction.TO_SERVER, true ); // Use Entity : PacketPlayInUseEntity
         addRewrite( 0x15, ProtocolConstants.Direction.TO_SERVER, true ); // Entity Action : PacketPlayInEntityAction
+
+        addUuidRewrite( 0x05, ProtocolConstants.Direction.TO_CLIENT ); // Spawn Player : PacketPlayOutNamedEntitySpawn
+        addUuidRewrite( 0x1E, ProtocolConstants.Direction.TO_SERVER ); // Spectate : PacketPlayInSpectate
     }
 
     @Override
@@ -56,7 +59,6 @@ class EntityMap_1_12_1 extends EntityMap
         int readerIndex = packet.readerIndex();
         int packetId = DefinedPacket.readVarInt( packet );
         int packetIdLength = packet.readerIndex() - readerIndex;
-        int jumpIndex = packet.readerIndex();
         switch ( packetId )
         {
             case 0x3D /* Attach Entity : PacketPlayOutAttachEntity */:
@@ -68,29 +70,9 @@ class EntityMap_1_12_1 extends EntityMap
                 break;
             case 0x43 /* Attach Entity : PacketPlayOutMount */:
                 DefinedPacket.readVarInt( packet );
-                jumpIndex = packet.readerIndex();
             // Fall through on purpose to int array of IDs
             case 0x32 /* Destroy Entities : PacketPlayOutEntityDestroy */:
-                int count = DefinedPacket.readVarInt( packet );
-                int[] ids = new int[ count ];
-                for ( int i = 0; i < count; i++ )
-                {
-                    ids[i] = DefinedPacket.readVarInt( packet );
-                }
-                packet.readerIndex( jumpIndex );
-                packet.writerIndex( jumpIndex );
-                DefinedPacket.writeVarInt( count, packet );
-                for ( int id : ids )
-                {
-                    if ( id == oldId )
-                    {
-                        id = newId;
-                    } else if ( id == newId )
-                    {
-                        id = oldId;
-                    }
-                    DefinedPacket.writeVarInt( id, packet );
-                }
+                rewriteVarIntArray( packet, oldId, newId );
                 break;
             case 0x00 /* Spawn Object : PacketPlayOutSpawnEntity */:
                 DefinedPacket.readVarInt( packet );
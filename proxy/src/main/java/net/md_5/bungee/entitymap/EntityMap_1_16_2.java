@@ -3,15 +3,13 @@ package net.md_5.bungee.entitymap;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.netty.buffer.ByteBuf;
 import java.util.UUID;
-import lombok.AccessLevel;
-import lombok.RequiredArgsConstructor;
 import net.md_5.bungee.BungeeCord;
 import net.md_5.bungee.UserConnection;
 import net.md_5.bungee.api.connection.ProxiedPlayer;
 import net.md_5.bungee.protocol.DefinedPacket;
+import net.md_5.bungee.protocol.ProtocolConstants;
 
-@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
-class EntityMap_1_16_2 extends EntityMap
+final class EntityMap_1_16_2 extends EntityMap
 {
 
     static final EntityMap_1_16_2 INSTANCE_1_16_2 = new EntityMap_1_16_2( 0x04, 0x2D );
@@ -27,6 +25,28 @@ class EntityMap_1_16_2 extends EntityMap
     private final int spawnPlayerId;
     private final int spectateId;
 
+    private EntityMap_1_16_2(int spawnPlayerId, int spectateId)
+    {
+        this.spawnPlayerId = spawnPlayerId;
+        this.spectateId = spectateId;
+
+        addUuidRewrite( spawnPlayerId, ProtocolConstants.Direction.TO_CLIENT );
+        addUuidRewrite( spectateId, ProtocolConstants.Direction.TO_SERVER );
+    }
+
+    @Override
+    public boolean isLengthPreserving()
+    {
+        // Only UUIDs are rewritten, which are fixed width
+        return true;
+    }
+
+    @Override
+    public boolean isRewrittenClientbound(int packetId)
+    {
+        return packetId == spawnPlayerId;
+    }
+
     @Override
     @SuppressFBWarnings("DLS_DEAD_LOCAL_STORE")
     public void rewriteClientbound(ByteBuf packet, int oldId, int newId, int protocolVersion)
@@ -45,6 +45,9 @@ class EntityMap_1_8 extends EntityMap
 
         addRewrite( 0x02, ProtocolConstants.Direction.TO_SERVER, true ); // Use Entity
         addRewrite( 0x0B, ProtocolConstants.Direction.TO_SERVER, true ); // Entity Action
+
+        addUuidRewrite( 0x0C, ProtocolConstants.Direction.TO_CLIENT ); // Spawn Player
+        addUuidRewrite( 0x18, ProtocolConstants.Direction.TO_SERVER ); // Spectate
     }
 
     @Override
@@ -66,26 +69,7 @@ class EntityMap_1_8 extends EntityMap
             rewriteInt( packet, oldId, newId, readerIndex + packetIdLength + 4 );
         } else if ( packetId == 0x13 /* Destroy Entities */ )
         {
-            int count = DefinedPacket.readVarInt( packet );
-            int[] ids = new int[ count ];
-            for ( int i = 0; i < count; i++ )
-            {
-                ids[i] = DefinedPacket.readVarInt( packet );
-            }
-            packet.readerIndex( readerIndex + packetIdLength );
-            packet.writerIndex( readerIndex + packetIdLength );
-            DefinedPacket.writeVarInt( count, packet );
-            for ( int id : ids )
-            {
-                if ( id == oldId )
-                {
-                    id = newId;
-                } else if ( id == newId )
-                {
-                    id = oldId;
-                }
-                DefinedPacket.writeVarInt( id, packet );
-            }
+            rewriteVarIntArray( packet, oldId, newId );
         } else if ( packetId == 0x0E /* Spawn Object */ )
         {
 
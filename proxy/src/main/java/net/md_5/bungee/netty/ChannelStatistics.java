@@ -0,0 +1,89 @@
+package net.md_5.bungee.netty;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Counters describing how the proxy writes to its connections, summed over all
+ * channels since startup.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ChannelStatistics
+{
+
+    private static final LongAdder flushes = new LongAdder();
+    private static final LongAdder flushedPackets = new LongAdder();
+    private static final LongAdder throttles = new LongAdder();
+    private static final LongAdder throttledNanos = new LongAdder();
+
+    static void flushed(int packets)
+    {
+        flushes.increment();
+        flushedPackets.add( packets );
+    }
+
+    public static void throttleStarted()
+    {
+        throttles.increment();
+    }
+
+    public static void throttleEnded(long nanos)
+    {
+        throttledNanos.add( nanos );
+    }
+
+    /**
+     * Get the number of times a connection has been flushed.
+     *
+     * @return the number of flushes
+     */
+    public static long getFlushes()
+    {
+        return flushes.sum();
+    }
+
+    /**
+     * Get the number of packets written by those flushes.
+     *
+     * @return the number of packets written
+     */
+    public static long getFlushedPackets()
+    {
+        return flushedPackets.sum();
+    }
+
+    /**
+     * Get the average number of packets written per flush.
+     *
+     * @return the average, or 0 if nothing was flushed yet
+     */
+    public static double getPacketsPerFlush()
+    {
+        long count = getFlushes();
+        return ( count == 0 ) ? 0 : (double) getFlushedPackets() / count;
+    }
+
+    /**
+     * Get the number of times reading from a server was paused because the
+     * player it relays to could not keep up.
+     *
+     * @return the number of pauses
+     */
+    public static long getThrottles()
+    {
+        return throttles.sum();
+    }
+
+    /**
+     * Get the total time reading from servers was paused for, not including
+     * pauses which are still ongoing.
+     *
+     * @return the total pause time in milliseconds
+     */
+    public static long getThrottledMillis()
+    {
+        return TimeUnit.NANOSECONDS.toMillis( throttledNanos.sum() );
+    }
+}
@@ -7,8 +7,10 @@ import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import java.net.SocketAddress;
 import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
 import lombok.Getter;
 import lombok.Setter;
+import net.md_5.bungee.BungeeCord;
 import net.md_5.bungee.compress.PacketCompressor;
 import net.md_5.bungee.compress.PacketDecompressor;
 import net.md_5.bungee.protocol.DefinedPacket;
@@ -29,6 +31,9 @@ public class ChannelWrapper
     private volatile boolean closed;
     @Getter
     private volatile boolean closing;
+    // Only accessed from the event loop
+    private int maxPacketsPerFlush;
+    private int pendingPackets;
 
     public ChannelWrapper(ChannelHandlerContext ctx)
     {
@@ -69,6 +74,11 @@ public class ChannelWrapper
         ch.pipeline().get( MinecraftEncoder.class ).setProtocolVersion( protocol );
     }
 
+    public void setDecodePassthrough(boolean passthrough)
+    {
+        ch.pipeline().get( MinecraftDecoder.class ).setPassthrough( passthrough );
+    }
+
     public int getEncodeVersion()
     {
         return ch.pipeline().get( MinecraftEncoder.class ).getProtocolVersion();
@@ -83,11 +93,12 @@ public class ChannelWrapper
             {
                 PacketWrapper wrapper = (PacketWrapper) packet;
                 wrapper.setReleased( true );
-                ch.writeAndFlush( wrapper.buf, ch.voidPromise() );
+                // Compressed packets must reach PacketCompressor as they are
+                writeAndFlush( ( wrapper.isCompressed() ) ? wrapper : wrapper.buf );
                 defined = wrapper.packet;
             } else
             {
-                ch.writeAndFlush( packet, ch.voidPromise() );
+                writeAndFlush( packet );
                 if ( packet instanceof DefinedPacket )
                 {
                     defined = (DefinedPacket) packet;
@@ -105,6 +116,56 @@ public class ChannelWrapper
         }
     }
 
+    private void writeAndFlush(Object packet)
+    {
+        if ( maxPacketsPerFlush > 0 && ch.eventLoop().inEventLoop() )
+        {
+            ch.write( packet, ch.voidPromise() );
+            if ( ++pendingPackets >= maxPacketsPerFlush )
+            {
+                flushPending();
+            }
+        } else
+        {
+            ch.writeAndFlush( packet, ch.voidPromise() );
+            ChannelStatistics.flushed( 1 );
+        }
+    }
+
+    /**
+     * Start holding back flushes of packets written from the event loop, until
+     * {@link #endConsolidation()} is called or the given number of packets is
+     * pending. Used while relaying a read from the paired connection, so that
+     * everything relayed from it is sent in as few writes as possible.
+     *
+     * @param maxPacketsPerFlush the maximum number of packets to write before
+     * flushing anyway
+     */
+    public void beginConsolidation(int maxPacketsPerFlush)
+    {
+        Preconditions.checkState( ch.eventLoop().inEventLoop(), "cannot consolidate outside of event loop" );
+        this.maxPacketsPerFlush = maxPacketsPerFlush;
+    }
+
+    /**
+     * Stop holding back flushes and flush anything which is pending.
+     */
+    public void endConsolidation()
+    {
+        maxPacketsPerFlush = 0;
+        flushPending();
+    }
+
+    private void flushPending()
+    {
+        if ( pendingPackets > 0 )
+        {
+            ChannelStatistics.flushed( pendingPackets );
+            pendingPackets = 0;
+            ch.flush();
+        }
+    }
+
     public void markClosed()
     {
         closed = closing = true;
@@ -165,15 +226,31 @@ public class ChannelWrapper
         return ch;
     }
 
+    public int getCompressionThreshold()
+    {
+        PacketCompressor compressor = ch.pipeline().get( PacketCompressor.class );
+        return ( compressor == null ) ? -1 : compressor.getThreshold();
+    }
+
     public void setCompressionThreshold(int compressionThreshold)
+    {
+        setCompressionThreshold( compressionThreshold, Deflater.DEFAULT_COMPRESSION, false );
+    }
+
+    public void setCompressionThreshold(int compressionThreshold, int compressionLevel, boolean adaptiveCompression)
     {
         if ( ch.pipeline().get( PacketCompressor.class ) == null && compressionThreshold >= 0 )
         {
-            addBefore( PipelineUtils.PACKET_ENCODER, "compress", new PacketCompressor() );
+            PacketCompressor compressor = new PacketCompressor();
+            compressor.setLevel( compressionLevel );
+            compressor.setAdaptive( adaptiveCompression );
+            addBefore( PipelineUtils.PACKET_ENCODER, "compress", compressor );
         }
         if ( compressionThreshold >= 0 )
         {
-            ch.pipeline().get( PacketCompressor.class ).setThreshold( compressionThreshold );
+            PacketCompressor compressor = ch.pipeline().get( PacketCompressor.class );
+            compressor.setThreshold( compressionThreshold );
+            compressor.setLevel( compressionLevel );
         } else
         {
             ch.pipeline().remove( "compress" );
@@ -181,7 +258,9 @@ public class ChannelWrapper
 
         if ( ch.pipeline().get( PacketDecompressor.class ) == null && compressionThreshold >= 0 )
         {
-            addBefore( PipelineUtils.PACKET_DECODER, "decompress", new PacketDecompressor() );
+            PacketDecompressor decompressor = new PacketDecompressor();
+            decompressor.setMaxSize( BungeeCord.getInstance().config.getMaxDecompressedPacketSize() );
+            addBefore( PipelineUtils.PACKET_DECODER, "decompress", decompressor );
         }
         if ( compressionThreshold < 0 )
         {
@@ -10,6 +10,7 @@ import io.netty.handler.timeout.ReadTimeoutException;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.util.logging.Level;
+import net.md_5.bungee.BungeeCord;
 import net.md_5.bungee.api.ProxyServer;
 import net.md_5.bungee.connection.CancelSendSignal;
 import net.md_5.bungee.connection.InitialHandler;
@@ -31,6 +32,7 @@ public class HandlerBoss extends ChannelInboundHandlerAdapter
     private ChannelWrapper channel;
     private PacketHandler handler;
     private boolean healthCheck;
+    private ChannelWrapper relayChannel;
 
     public void setHandler(PacketHandler handler)
     {
@@ -56,6 +58,7 @@ public class HandlerBoss extends ChannelInboundHandlerAdapter
     @Override
     public void channelInactive(ChannelHandlerContext ctx) throws Exception
     {
+        endConsolidation();
         if ( handler != null )
         {
             channel.markClosed();
@@ -118,6 +121,19 @@ public class HandlerBoss extends ChannelInboundHandlerAdapter
 
         if ( handler != null )
         {
+            if ( relayChannel == null )
+            {
+                int maxPacketsPerFlush = BungeeCord.getInstance().config.getMaxPacketsPerFlush();
+                if ( maxPacketsPerFlush > 1 )
+                {
+                    relayChannel = handler.getRelayChannel();
+                    if ( relayChannel != null )
+                    {
+                        relayChannel.beginConsolidation( maxPacketsPerFlush );
+                    }
+                }
+            }
+
             boolean sendPacket = handler.shouldHandle( packet );
             try
             {
@@ -142,6 +158,22 @@ public class HandlerBoss extends ChannelInboundHandlerAdapter
         }
     }
 
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) throws Exception
+    {
+        endConsolidation();
+        super.channelReadComplete( ctx );
+    }
+
+    private void endConsolidation()
+    {
+        if ( relayChannel != null )
+        {
+            relayChannel.endConsolidation();
+            relayChannel = null;
+        }
+    }
+
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception
     {
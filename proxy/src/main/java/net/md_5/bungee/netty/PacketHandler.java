@@ -32,4 +32,15 @@ public abstract class PacketHandler extends net.md_5.bungee.protocol.AbstractPac
     public void writabilityChanged(ChannelWrapper channel) throws Exception
     {
     }
+
+    /**
+     * Get the channel packets read by this handler are relayed to, if any.
+     * Writes to it are flushed together once the current read completes.
+     *
+     * @return the paired channel, or null
+     */
+    public ChannelWrapper getRelayChannel()
+    {
+        return null;
+    }
 }
@@ -35,7 +35,6 @@ import java.net.SocketAddress;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
-import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import net.md_5.bungee.BungeeCord;
 import net.md_5.bungee.Util;
@@ -50,7 +49,6 @@ import net.md_5.bungee.protocol.MinecraftEncoder;
 import net.md_5.bungee.protocol.Protocol;
 import net.md_5.bungee.protocol.Varint21FrameDecoder;
 import net.md_5.bungee.protocol.Varint21LengthFieldExtraBufPrepender;
-import net.md_5.bungee.protocol.Varint21LengthFieldPrepender;
 
 public class PipelineUtils
 {
@@ -90,11 +88,14 @@ public class PipelineUtils
             }
         }
     };
-    public static final Base BASE = new Base( false );
-    public static final Base BASE_SERVERSIDE = new Base( true );
+    public static final Base BASE = new Base();
+    /**
+     * @deprecated client and server channels now share {@link #BASE}
+     */
+    @Deprecated
+    public static final Base BASE_SERVERSIDE = BASE;
     private static final KickStringWriter legacyKicker = new KickStringWriter();
-    private static final Varint21LengthFieldPrepender framePrepender = new Varint21LengthFieldPrepender();
-    private static final Varint21LengthFieldExtraBufPrepender serverFramePrepender = new Varint21LengthFieldExtraBufPrepender();
+    private static final Varint21LengthFieldExtraBufPrepender framePrepender = new Varint21LengthFieldExtraBufPrepender();
     public static final String TIMEOUT_HANDLER = "timeout";
     public static final String PACKET_DECODER = "packet-decoder";
     public static final String PACKET_ENCODER = "packet-encoder";
@@ -178,12 +179,21 @@ public class PipelineUtils
     private static final int HIGH_MARK = Integer.getInteger( "net.md_5.bungee.high_mark", 2 << 20 ); // 2 mb
     private static final WriteBufferWaterMark MARK = new WriteBufferWaterMark( LOW_MARK, HIGH_MARK );
 
-    @NoArgsConstructor // for backwards compatibility
-    @AllArgsConstructor
+    @NoArgsConstructor
     public static final class Base extends ChannelInitializer<Channel>
     {
 
-        private boolean toServer = false;
+        /**
+         * Binary compatibility shim, client and server channels now share a
+         * pipeline.
+         *
+         * @param toServer ignored
+         * @deprecated use {@link #Base()}
+         */
+        @Deprecated
+        public Base(boolean toServer)
+        {
+        }
 
         @Override
         public void initChannel(Channel ch) throws Exception
@@ -200,9 +210,9 @@ public class PipelineUtils
 
             ch.pipeline().addLast( FRAME_DECODER, new Varint21FrameDecoder() );
             ch.pipeline().addLast( TIMEOUT_HANDLER, new ReadTimeoutHandler( BungeeCord.getInstance().config.getTimeout(), TimeUnit.MILLISECONDS ) );
-            // No encryption bungee -> server, therefore use extra buffer to avoid copying everything for length prepending
-            // Not used bungee -> client as header would need to be encrypted separately through expensive JNI call
-            ch.pipeline().addLast( FRAME_PREPENDER, ( toServer ) ? serverFramePrepender : framePrepender );
+            // Use extra buffer to avoid copying everything for length prepending
+            // Encrypted client channels still need only one JNI call, as CipherEncoder encrypts each flush at once
+            ch.pipeline().addLast( FRAME_PREPENDER, framePrepender );
 
             ch.pipeline().addLast( BOSS_HANDLER, new HandlerBoss() );
         }
@@ -16,7 +16,14 @@ public class CipherDecoder extends MessageToMessageDecoder<ByteBuf>
     @Override
     protected void decode(ChannelHandlerContext ctx, ByteBuf msg, List<Object> out) throws Exception
     {
-        out.add( cipher.cipher( ctx, msg ) );
+        if ( CipherEncoder.isExclusive( msg ) )
+        {
+            cipher.cipherInPlace( msg );
+            out.add( msg.retain() );
+        } else
+        {
+            out.add( cipher.cipher( ctx, msg ) );
+        }
     }
 
     @Override
@@ -1,26 +1,168 @@
 package net.md_5.bungee.netty.cipher;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelException;
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.EncoderException;
+import io.netty.util.concurrent.PromiseNotifier;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import net.md_5.bungee.jni.cipher.BungeeCipher;
 
+/**
+ * Encrypts small frames written between two flushes with a single call to the
+ * cipher. They are gathered into one contiguous buffer, which is then
+ * encrypted in place, so a flush of many small packets costs one JNI call with
+ * the native cipher rather than one for every frame and length prefix.
+ * <br>
+ * A batch is encrypted and passed on as soon as it reaches {@link #MAX_BATCH}
+ * or the channel's high water mark, so that unflushed writes still count
+ * towards the channel's writability and copying stays cheap. Frames of that
+ * size are encrypted on their own, in place if the encoder owns them.
+ */
 @RequiredArgsConstructor
-public class CipherEncoder extends MessageToByteEncoder<ByteBuf>
+public class CipherEncoder extends ChannelOutboundHandlerAdapter
 {
 
+    /**
+     * Largest number of bytes held back until the next flush.
+     */
+    static final int MAX_BATCH = 1 << 13;
+    //
     private final BungeeCipher cipher;
+    //
+    private ByteBuf pending;
+    private final List<ChannelPromise> promises = new ArrayList<>();
+
+    /**
+     * Check whether nothing else can observe the memory of a buffer, so that
+     * it may be ciphered in place. Derived buffers such as slices and
+     * duplicates have their own reference count, so they never qualify.
+     *
+     * @param buf the buffer to check
+     * @return whether the buffer may be modified
+     */
+    static boolean isExclusive(ByteBuf buf)
+    {
+        return buf.refCnt() == 1 && buf.unwrap() == null && !buf.isReadOnly();
+    }
 
     @Override
-    protected void encode(ChannelHandlerContext ctx, ByteBuf in, ByteBuf out) throws Exception
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception
     {
-        cipher.cipher( in, out );
+        if ( !( msg instanceof ByteBuf ) )
+        {
+            writePending( ctx );
+            ctx.write( msg, promise );
+            return;
+        }
+
+        ByteBuf buf = (ByteBuf) msg;
+        int maxBatch = Math.min( MAX_BATCH, ctx.channel().config().getWriteBufferHighWaterMark() );
+        if ( pending != null && pending.readableBytes() + buf.readableBytes() > maxBatch )
+        {
+            writePending( ctx );
+        }
+
+        if ( pending == null && isExclusive( buf ) )
+        {
+            // Frames we own are used as the start of the batch, so a lone frame is never copied
+            pending = buf;
+        } else
+        {
+            try
+            {
+                append( ctx, buf );
+            } finally
+            {
+                buf.release();
+            }
+        }
+        promises.add( promise.unvoid() );
+
+        if ( pending.readableBytes() >= maxBatch )
+        {
+            writePending( ctx );
+        }
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) throws Exception
+    {
+        writePending( ctx );
+        ctx.flush();
     }
 
     @Override
     public void handlerRemoved(ChannelHandlerContext ctx) throws Exception
     {
+        if ( pending != null )
+        {
+            pending.release();
+            pending = null;
+        }
+        for ( ChannelPromise promise : promises )
+        {
+            promise.tryFailure( new ChannelException( "Encryption removed before flush" ) );
+        }
+        promises.clear();
+
         cipher.free();
     }
+
+    private void append(ChannelHandlerContext ctx, ByteBuf buf)
+    {
+        int length = buf.readableBytes();
+        if ( pending == null )
+        {
+            pending = ctx.alloc().directBuffer( length );
+        } else if ( pending.maxWritableBytes() < length )
+        {
+            ByteBuf grown = ctx.alloc().directBuffer( pending.readableBytes() + length );
+            grown.writeBytes( pending );
+            pending.release();
+            pending = grown;
+        }
+
+        pending.writeBytes( buf );
+    }
+
+    private void writePending(ChannelHandlerContext ctx)
+    {
+        if ( pending == null )
+        {
+            return;
+        }
+
+        ByteBuf buf = pending;
+        ChannelPromise[] notify = promises.toArray( new ChannelPromise[ 0 ] );
+        pending = null;
+        promises.clear();
+
+        try
+        {
+            cipher.cipherInPlace( buf );
+        } catch ( Exception ex )
+        {
+            buf.release();
+            EncoderException exception = new EncoderException( ex );
+            for ( ChannelPromise promise : notify )
+            {
+                promise.tryFailure( exception );
+            }
+            return;
+        }
+
+        if ( notify.length == 1 )
+        {
+            ctx.write( buf, notify[0] );
+        } else
+        {
+            ctx.write( buf ).addListener( new PromiseNotifier<Void, ChannelFuture>( false, notify ) );
+        }
+    }
 }
@@ -1,15 +1,14 @@
 package net.md_5.bungee.scheduler;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Multimap;
-import com.google.common.collect.Multimaps;
-import gnu.trove.TCollections;
-import gnu.trove.map.TIntObjectMap;
-import gnu.trove.map.hash.TIntObjectHashMap;
-import java.util.HashSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import net.md_5.bungee.api.plugin.Plugin;
@@ -19,10 +18,15 @@ import net.md_5.bungee.api.scheduler.TaskScheduler;
 public class BungeeScheduler implements TaskScheduler
 {
 
-    private final Object lock = new Object();
     private final AtomicInteger taskCounter = new AtomicInteger();
-    private final TIntObjectMap<BungeeTask> tasks = TCollections.synchronizedMap( new TIntObjectHashMap<BungeeTask>() );
-    private final Multimap<Plugin, BungeeTask> tasksByPlugin = Multimaps.synchronizedMultimap( HashMultimap.<Plugin, BungeeTask>create() );
+    private final Map<Integer, BungeeTask> tasks = new ConcurrentHashMap<>();
+    private final Map<Plugin, Set<BungeeTask>> tasksByPlugin = new ConcurrentHashMap<>();
+    /**
+     * Waits for delayed tasks to become due and then hands them to the
+     * executor of their plugin, so that a waiting task does not hold on to a
+     * thread of its own.
+     */
+    final ScheduledThreadPoolExecutor timer;
     //
     private final Unsafe unsafe = new Unsafe()
     {
@@ -34,6 +38,12 @@ public class BungeeScheduler implements TaskScheduler
         }
     };
 
+    public BungeeScheduler()
+    {
+        timer = new ScheduledThreadPoolExecutor( 1, new ThreadFactoryBuilder().setNameFormat( "BungeeCord Scheduler" ).setDaemon( true ).build() );
+        timer.setRemoveOnCancelPolicy( true );
+    }
+
     @Override
     public void cancel(int id)
     {
@@ -45,11 +55,13 @@ public class BungeeScheduler implements TaskScheduler
 
     void cancel0(BungeeTask task)
     {
-        synchronized ( lock )
+        tasks.remove( task.getId() );
+        // Forget plugins without tasks, so that reloaded plugins are not kept
+        tasksByPlugin.computeIfPresent( task.getOwner(), (plugin, pluginTasks) ->
         {
-            tasks.remove( task.getId() );
-            tasksByPlugin.values().remove( task );
-        }
+            pluginTasks.remove( task );
+            return ( pluginTasks.isEmpty() ) ? null : pluginTasks;
+        } );
     }
 
     @Override
@@ -61,14 +73,13 @@ public class BungeeScheduler implements TaskScheduler
     @Override
     public int cancel(Plugin plugin)
     {
-        Set<ScheduledTask> toRemove = new HashSet<>();
-        synchronized ( lock )
+        Set<BungeeTask> pluginTasks = tasksByPlugin.get( plugin );
+        if ( pluginTasks == null )
         {
-            for ( ScheduledTask task : tasksByPlugin.get( plugin ) )
-            {
-                toRemove.add( task );
-            }
+            return 0;
         }
+
+        List<BungeeTask> toRemove = new ArrayList<>( pluginTasks );
         for ( ScheduledTask task : toRemove )
         {
             cancel( task );
@@ -95,16 +106,34 @@ public class BungeeScheduler implements TaskScheduler
         Preconditions.checkNotNull( task, "task" );
         BungeeTask prepared = new BungeeTask( this, taskCounter.getAndIncrement(), owner, task, delay, period, unit );
 
-        synchronized ( lock )
+        tasks.put( prepared.getId(), prepared );
+        tasksByPlugin.compute( owner, (plugin, pluginTasks) ->
         {
-            tasks.put( prepared.getId(), prepared );
-            tasksByPlugin.put( owner, prepared );
-        }
+            if ( pluginTasks == null )
+            {
+                pluginTasks = ConcurrentHashMap.newKeySet();
+            }
+            pluginTasks.add( prepared );
+            return pluginTasks;
+        } );
 
-        owner.getExecutorService().execute( prepared );
+        prepared.schedule( prepared.getDelay() );
         return prepared;
     }
 
+    /**
+     * Cancel all tasks and stop the timer thread. Nothing may be scheduled
+     * afterwards.
+     */
+    public void shutdown()
+    {
+        for ( BungeeTask task : new ArrayList<>( tasks.values() ) )
+        {
+            task.cancel();
+        }
+        timer.shutdownNow();
+    }
+
     @Override
     public Unsafe unsafe()
     {
@@ -1,9 +1,16 @@
 package net.md_5.bungee.scheduler;
 
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import net.md_5.bungee.api.ProxyServer;
 import net.md_5.bungee.api.plugin.Plugin;
 import net.md_5.bungee.api.scheduler.ScheduledTask;
@@ -20,6 +27,11 @@ public class BungeeTask implements Runnable, ScheduledTask
     private final long delay;
     private final long period;
     private final AtomicBoolean running = new AtomicBoolean( true );
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private volatile ScheduledFuture<?> pending;
 
     public BungeeTask(BungeeScheduler sched, int id, Plugin owner, Runnable task, long delay, long period, TimeUnit unit)
     {
@@ -39,48 +51,68 @@ public class BungeeTask implements Runnable, ScheduledTask
         if ( wasRunning )
         {
             sched.cancel0( this );
+
+            ScheduledFuture<?> future = pending;
+            if ( future != null )
+            {
+                future.cancel( false );
+            }
         }
     }
 
-    @Override
-    public void run()
+    /**
+     * Run this task on the executor of its plugin once the delay has passed.
+     *
+     * @param delay the delay in milliseconds
+     */
+    void schedule(long delay)
     {
-        if ( delay > 0 )
+        if ( delay <= 0 )
         {
-            try
-            {
-                Thread.sleep( delay );
-            } catch ( InterruptedException ex )
-            {
-                Thread.currentThread().interrupt();
-            }
+            owner.getExecutorService().execute( this );
+            return;
         }
 
-        while ( running.get() )
+        pending = sched.timer.schedule( () ->
         {
-            try
-            {
-                task.run();
-            } catch ( Throwable t )
+            if ( running.get() )
             {
-                ProxyServer.getInstance().getLogger().log( Level.SEVERE, "Task " + this + " encountered an exception", t );
+                try
+                {
+                    owner.getExecutorService().execute( this );
+                } catch ( RejectedExecutionException ex )
+                {
+                    // Plugin has been disabled
+                    cancel();
+                }
             }
+        }, delay, TimeUnit.MILLISECONDS );
+    }
 
-            // If we have a period of 0 or less, only run once
-            if ( period <= 0 )
-            {
-                break;
-            }
+    @Override
+    public void run()
+    {
+        if ( !running.get() )
+        {
+            return;
+        }
 
-            try
-            {
-                Thread.sleep( period );
-            } catch ( InterruptedException ex )
-            {
-                Thread.currentThread().interrupt();
-            }
+        try
+        {
+            task.run();
+        } catch ( Throwable t )
+        {
+            ProxyServer.getInstance().getLogger().log( Level.SEVERE, "Task " + this + " encountered an exception", t );
         }
 
-        cancel();
+        // If we have a period of 0 or less, only run once
+        if ( period <= 0 )
+        {
+            cancel();
+        } else if ( running.get() )
+        {
+            // Scheduled again only once this run is done, so a task never overlaps with itself
+            schedule( period );
+        }
     }
 }
@@ -0,0 +1,124 @@
+package net.md_5.bungee.compress;
+
+import static org.junit.jupiter.api.Assertions.*;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.DecoderException;
+import java.util.Random;
+import net.md_5.bungee.protocol.DefinedPacket;
+import net.md_5.bungee.protocol.OverflowPacketException;
+import net.md_5.bungee.protocol.PacketWrapper;
+import org.junit.jupiter.api.Test;
+
+public class PacketDecompressorTest
+{
+
+    private static ByteBuf compress(int packetId)
+    {
+        return compress( packetId, PacketDecompressor.PEEK_MIN_SIZE );
+    }
+
+    private static ByteBuf compress(int packetId, int bodySize)
+    {
+        ByteBuf packet = Unpooled.directBuffer();
+        DefinedPacket.writeVarInt( packetId, packet );
+        byte[] body = new byte[ bodySize ];
+        new Random( packetId ).nextBytes( body );
+        packet.writeBytes( body );
+
+        EmbeddedChannel channel = new EmbeddedChannel( new PacketCompressor() );
+        assertTrue( channel.writeOutbound( packet ) );
+        ByteBuf compressed = channel.readOutbound();
+        channel.finishAndReleaseAll();
+
+        return compressed;
+    }
+
+    @Test
+    public void testPassthrough()
+    {
+        ByteBuf compressed = compress( 0x27 );
+        byte[] expected = ByteBufUtil.getBytes( compressed );
+
+        PacketDecompressor decompressor = new PacketDecompressor();
+        decompressor.setPassthrough( () -> true, (id) -> id == 0x27 );
+        EmbeddedChannel server = new EmbeddedChannel( decompressor );
+        assertTrue( server.writeInbound( compressed ) );
+
+        PacketWrapper packet = server.readInbound();
+        assertTrue( packet.isCompressed() );
+        assertNull( packet.packet );
+        server.finishAndReleaseAll();
+
+        EmbeddedChannel client = new EmbeddedChannel( new PacketCompressor() );
+        assertTrue( client.writeOutbound( packet ) );
+        ByteBuf relayed = client.readOutbound();
+        assertArrayEquals( expected, ByteBufUtil.getBytes( relayed ) );
+        relayed.release();
+        client.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testDecompressOthers()
+    {
+        PacketDecompressor decompressor = new PacketDecompressor();
+        decompressor.setPassthrough( () -> true, (id) -> id == 0x27 );
+        EmbeddedChannel server = new EmbeddedChannel( decompressor );
+        assertTrue( server.writeInbound( compress( 0x28 ) ) );
+
+        ByteBuf packet = server.readInbound();
+        assertEquals( 0x28, DefinedPacket.readVarInt( packet ) );
+        packet.release();
+        server.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testNoPeek()
+    {
+        PacketDecompressor decompressor = new PacketDecompressor();
+        decompressor.setPassthrough( () -> false, (id) -> id == 0x27 );
+        EmbeddedChannel server = new EmbeddedChannel( decompressor );
+        assertTrue( server.writeInbound( compress( 0x27 ) ) );
+
+        // Small packets are not worth peeking at
+        decompressor.setPassthrough( () -> true, (id) -> id == 0x27 );
+        assertTrue( server.writeInbound( compress( 0x27, 512 ) ) );
+
+        for ( int i = 0; i < 2; i++ )
+        {
+            ByteBuf packet = server.readInbound();
+            assertEquals( 0x27, DefinedPacket.readVarInt( packet ) );
+            packet.release();
+        }
+        server.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testDeclaredSizeLimit()
+    {
+        PacketDecompressor decompressor = new PacketDecompressor();
+        decompressor.setMaxSize( 1024 );
+        EmbeddedChannel server = new EmbeddedChannel( decompressor );
+
+        DecoderException ex = assertThrows( DecoderException.class, () -> server.writeInbound( compress( 0x28 ) ) );
+        assertInstanceOf( OverflowPacketException.class, ex.getCause() );
+        server.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testLargerThanDeclared()
+    {
+        ByteBuf compressed = compress( 0x28 );
+        ByteBuf lying = Unpooled.directBuffer();
+        DefinedPacket.readVarInt( compressed );
+        DefinedPacket.writeVarInt( 100, lying );
+        lying.writeBytes( compressed );
+        compressed.release();
+
+        EmbeddedChannel server = new EmbeddedChannel( new PacketDecompressor() );
+        assertThrows( DecoderException.class, () -> server.writeInbound( lying ) );
+        server.finishAndReleaseAll();
+    }
+}
@@ -0,0 +1,68 @@
+package net.md_5.bungee.connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+import com.google.common.base.Ticker;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import net.md_5.bungee.protocol.ProtocolConstants;
+import net.md_5.bungee.protocol.packet.StatusResponse;
+import org.junit.jupiter.api.Test;
+
+public class StatusCacheTest
+{
+
+    private static class FixedTicker extends Ticker
+    {
+
+        private long value;
+
+        @Override
+        public long read()
+        {
+            return value;
+        }
+    }
+
+    @Test
+    public void testStatusCache()
+    {
+        FixedTicker ticker = new FixedTicker();
+        StatusCache cache = new StatusCache( ticker );
+        StatusCache.Key key = new StatusCache.Key( new InetSocketAddress( 25577 ), null, ProtocolConstants.MINECRAFT_1_8 );
+        StatusCache.Key other = new StatusCache.Key( new InetSocketAddress( 25577 ), "lobby", ProtocolConstants.MINECRAFT_1_8 );
+
+        assertNull( cache.get( key, 10, 0 ) );
+        cache.put( key, 10, new StatusResponse( "{}" ), 1000 );
+
+        assertNotNull( cache.get( key, 10, 0 ), "Cached response not returned" );
+        assertNull( cache.get( other, 10, 0 ), "Response returned for different server" );
+        assertNotNull( cache.get( key, 12, 2 ), "Response dropped within allowed player change" );
+        assertNull( cache.get( key, 11, 0 ), "Response returned after player count changed" );
+
+        cache.put( key, 10, new StatusResponse( "{}" ), 1000 );
+        ticker.value += TimeUnit.MILLISECONDS.toNanos( 1000 );
+        assertNull( cache.get( key, 10, 0 ), "Response returned after expiry" );
+    }
+
+    @Test
+    public void testEviction()
+    {
+        FixedTicker ticker = new FixedTicker();
+        StatusCache cache = new StatusCache( ticker );
+        InetSocketAddress listener = new InetSocketAddress( 25577 );
+
+        for ( int i = 0; i < StatusCache.MAX_ENTRIES; i++ )
+        {
+            cache.put( new StatusCache.Key( listener, null, i ), 10, new StatusResponse( "{}" ), 1000 );
+            ticker.value++;
+        }
+        cache.put( new StatusCache.Key( listener, null, -1 ), 10, new StatusResponse( "{}" ), 1000 );
+
+        assertNull( cache.get( new StatusCache.Key( listener, null, 0 ), 10, 0 ), "Oldest response not evicted" );
+        for ( int i = 1; i < StatusCache.MAX_ENTRIES; i++ )
+        {
+            assertNotNull( cache.get( new StatusCache.Key( listener, null, i ), 10, 0 ), "Newer response evicted" );
+        }
+        assertNotNull( cache.get( new StatusCache.Key( listener, null, -1 ), 10, 0 ) );
+    }
+}
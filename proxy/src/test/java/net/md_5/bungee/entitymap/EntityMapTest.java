@@ -0,0 +1,81 @@
+package net.md_5.bungee.entitymap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.md_5.bungee.protocol.DefinedPacket;
+import net.md_5.bungee.protocol.ProtocolConstants;
+import org.junit.jupiter.api.Test;
+
+public class EntityMapTest
+{
+
+    private static final int SMALL_ID = 5;
+    private static final int LARGE_ID = 100000;
+
+    private static ByteBuf varInts(int... values)
+    {
+        ByteBuf buf = Unpooled.directBuffer();
+        for ( int value : values )
+        {
+            DefinedPacket.writeVarInt( value, buf );
+        }
+        return buf;
+    }
+
+    @Test
+    public void testVarIntWidthChange()
+    {
+        ByteBuf packet = varInts( 0x01, SMALL_ID, 1, 2, 3 );
+
+        packet.readerIndex( 1 );
+        EntityMap.rewriteVarInt( packet, SMALL_ID, LARGE_ID, 1 );
+        packet.readerIndex( 0 );
+        assertEquals( varInts( 0x01, LARGE_ID, 1, 2, 3 ), packet );
+
+        packet.readerIndex( 1 );
+        EntityMap.rewriteVarInt( packet, SMALL_ID, LARGE_ID, 1 );
+        packet.readerIndex( 0 );
+        assertEquals( varInts( 0x01, SMALL_ID, 1, 2, 3 ), packet );
+
+        packet.release();
+    }
+
+    @Test
+    public void testDestroyEntities()
+    {
+        EntityMap map = EntityMap.getEntityMap( ProtocolConstants.MINECRAFT_1_16 );
+        ByteBuf packet = varInts( 0x37, 3, SMALL_ID, 7, LARGE_ID );
+
+        map.rewriteClientbound( packet, SMALL_ID, LARGE_ID, ProtocolConstants.MINECRAFT_1_16 );
+        assertEquals( 0, packet.readerIndex() );
+        assertEquals( varInts( 0x37, 3, LARGE_ID, 7, SMALL_ID ), packet );
+
+        packet.release();
+    }
+
+    @Test
+    public void testIdentitySkip()
+    {
+        EntityMap map = EntityMap.getEntityMap( ProtocolConstants.MINECRAFT_1_12_2 );
+        ByteBuf move = varInts( 0x26, SMALL_ID );
+        ByteBuf spawnPlayer = varInts( 0x05, SMALL_ID );
+        ByteBuf spectate = varInts( 0x1E );
+
+        assertTrue( map.needsRewrite( move, ProtocolConstants.Direction.TO_CLIENT, SMALL_ID, LARGE_ID ) );
+        assertFalse( map.needsRewrite( move, ProtocolConstants.Direction.TO_CLIENT, SMALL_ID, SMALL_ID ) );
+        assertEquals( 0, move.readerIndex() );
+        // Player UUIDs are rewritten independently of entity ids
+        assertTrue( map.needsRewrite( spawnPlayer, ProtocolConstants.Direction.TO_CLIENT, SMALL_ID, SMALL_ID ) );
+        assertTrue( map.needsRewrite( spectate, ProtocolConstants.Direction.TO_SERVER, SMALL_ID, SMALL_ID ) );
+        assertFalse( map.needsRewrite( spectate, ProtocolConstants.Direction.TO_CLIENT, SMALL_ID, SMALL_ID ) );
+
+        assertTrue( map.isRewrittenClientbound( 0x26, SMALL_ID, LARGE_ID ) );
+        assertFalse( map.isRewrittenClientbound( 0x26, SMALL_ID, SMALL_ID ) );
+        assertTrue( map.isRewrittenClientbound( 0x05, SMALL_ID, SMALL_ID ) );
+
+        move.release();
+        spawnPlayer.release();
+        spectate.release();
+    }
+}
@@ -0,0 +1,126 @@
+package net.md_5.bungee.netty.cipher;
+
+import static org.junit.jupiter.api.Assertions.*;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.nio.charset.StandardCharsets;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import net.md_5.bungee.jni.cipher.BungeeCipher;
+import net.md_5.bungee.jni.cipher.JavaCipher;
+import org.junit.jupiter.api.Test;
+
+public class CipherEncoderTest
+{
+
+    private static final SecretKey SECRET = new SecretKeySpec( new byte[ 16 ], "AES" );
+    private static final byte[] PLAIN = "This is a test".getBytes( StandardCharsets.UTF_8 );
+
+    private static EmbeddedChannel encoder() throws Exception
+    {
+        BungeeCipher cipher = new JavaCipher();
+        cipher.init( true, SECRET );
+        return new EmbeddedChannel( new CipherEncoder( cipher ) );
+    }
+
+    private static ByteBuf direct(byte[] bytes)
+    {
+        ByteBuf buf = Unpooled.directBuffer();
+        buf.writeBytes( bytes );
+        return buf;
+    }
+
+    @Test
+    public void testInPlace() throws Exception
+    {
+        ByteBuf exclusive = direct( PLAIN );
+        ByteBuf shared = direct( PLAIN );
+
+        EmbeddedChannel first = encoder();
+        assertTrue( first.writeOutbound( exclusive ) );
+        ByteBuf inPlace = first.readOutbound();
+        assertSame( exclusive, inPlace );
+
+        // A duplicate may not be modified, so it is copied instead
+        EmbeddedChannel second = encoder();
+        assertTrue( second.writeOutbound( shared.retainedDuplicate() ) );
+        ByteBuf copied = second.readOutbound();
+        assertEquals( Unpooled.wrappedBuffer( PLAIN ), shared );
+
+        assertEquals( copied, inPlace );
+
+        inPlace.release();
+        copied.release();
+        shared.release();
+    }
+
+    @Test
+    public void testBatch() throws Exception
+    {
+        EmbeddedChannel single = encoder();
+        ByteBuf whole = Unpooled.directBuffer();
+        for ( int i = 0; i < 3; i++ )
+        {
+            whole.writeBytes( PLAIN );
+        }
+        assertTrue( single.writeOutbound( whole ) );
+        ByteBuf expected = single.readOutbound();
+
+        EmbeddedChannel batched = encoder();
+        ByteBuf shared = direct( PLAIN );
+        ChannelFuture firstWrite = batched.write( direct( PLAIN ) );
+        ChannelFuture sharedWrite = batched.write( shared.retainedDuplicate() );
+        ChannelFuture lastWrite = batched.write( direct( PLAIN ) );
+        assertNull( batched.readOutbound() );
+
+        batched.flush();
+        ByteBuf actual = batched.readOutbound();
+        assertNull( batched.readOutbound() );
+        assertEquals( expected, actual );
+        assertEquals( Unpooled.wrappedBuffer( PLAIN ), shared );
+        assertTrue( firstWrite.isSuccess() && sharedWrite.isSuccess() && lastWrite.isSuccess() );
+
+        expected.release();
+        actual.release();
+        shared.release();
+    }
+
+    @Test
+    public void testWritability() throws Exception
+    {
+        EmbeddedChannel channel = encoder();
+        channel.config().setWriteBufferWaterMark( new WriteBufferWaterMark( 1024, 4096 ) );
+
+        ByteBuf whole = Unpooled.directBuffer();
+        for ( int i = 0; i < 1024; i++ )
+        {
+            whole.writeBytes( PLAIN );
+            channel.write( direct( PLAIN ) );
+        }
+        // Batches are passed on before the flush, so the water marks see them
+        assertFalse( channel.isWritable() );
+
+        channel.flush();
+        assertTrue( channel.isWritable() );
+
+        EmbeddedChannel single = encoder();
+        assertTrue( single.writeOutbound( whole ) );
+        ByteBuf expected = single.readOutbound();
+
+        ByteBuf actual = Unpooled.directBuffer();
+        ByteBuf batch;
+        while ( ( batch = channel.readOutbound() ) != null )
+        {
+            assertTrue( batch.readableBytes() <= 4096 );
+            actual.writeBytes( batch );
+            batch.release();
+        }
+        assertEquals( expected, actual );
+
+        expected.release();
+        actual.release();
+    }
+}
@@ -4,19 +4,26 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import net.md_5.bungee.api.plugin.DummyPlugin;
 import net.md_5.bungee.api.scheduler.ScheduledTask;
-import net.md_5.bungee.api.scheduler.TaskScheduler;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 public class SchedulerTest
 {
 
+    private final BungeeScheduler scheduler = new BungeeScheduler();
+
+    @AfterEach
+    public void shutdown()
+    {
+        scheduler.shutdown();
+    }
+
     @Test
     public void testRun() throws InterruptedException
     {
-        TaskScheduler scheduler = new BungeeScheduler();
-
         final CountDownLatch latch = new CountDownLatch( 1 );
 
         scheduler.runAsync( DummyPlugin.INSTANCE, new Runnable()
@@ -37,7 +44,6 @@ public class SchedulerTest
     @Test
     public void testCancel() throws InterruptedException
     {
-        TaskScheduler scheduler = new BungeeScheduler();
         AtomicBoolean b = new AtomicBoolean();
 
         ScheduledTask task = setup( scheduler, b );
@@ -59,7 +65,6 @@ public class SchedulerTest
     @Test
     public void testScheduleAndRepeat() throws InterruptedException
     {
-        TaskScheduler scheduler = new BungeeScheduler();
         AtomicBoolean b = new AtomicBoolean();
 
         setup( scheduler, b );
@@ -71,7 +76,40 @@ public class SchedulerTest
         assertTrue( b.get() );
     }
 
-    private ScheduledTask setup(TaskScheduler scheduler, final AtomicBoolean hasRun)
+    @Test
+    public void testCancelFromTask() throws InterruptedException
+    {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch cancelled = new CountDownLatch( 1 );
+        ScheduledTask[] task = new ScheduledTask[ 1 ];
+
+        task[0] = scheduler.schedule( DummyPlugin.INSTANCE, () ->
+        {
+            if ( runs.incrementAndGet() == 3 )
+            {
+                task[0].cancel();
+                cancelled.countDown();
+            }
+        }, 10, 10, TimeUnit.MILLISECONDS );
+
+        assertTrue( cancelled.await( 5, TimeUnit.SECONDS ) );
+        assertEquals( 3, runs.get() );
+        assertEquals( 0, scheduler.cancel( DummyPlugin.INSTANCE ) );
+    }
+
+    @Test
+    public void testShutdown()
+    {
+        AtomicBoolean b = new AtomicBoolean();
+        ScheduledTask task = setup( scheduler, b );
+
+        scheduler.shutdown();
+        assertTrue( scheduler.timer.isShutdown() );
+        assertFalse( ( (BungeeTask) task ).getRunning().get() );
+        assertEquals( 0, scheduler.cancel( DummyPlugin.INSTANCE ) );
+    }
+
+    private ScheduledTask setup(BungeeScheduler scheduler, final AtomicBoolean hasRun)
     {
         return scheduler.schedule( DummyPlugin.INSTANCE, new Runnable()
         {